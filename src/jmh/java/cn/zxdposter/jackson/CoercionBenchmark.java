@@ -0,0 +1,128 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基础类型取值的快速转换与原来 convertValue 转换的对比
+ * <p>
+ * 每个取值方法对应一组 xxxValue 与 xxxValueConvert，xxxValueConvert 是改动前的实现：
+ * 先判断节点本身能否直接取值，否则走 JacksonContext.convert。source 为字段值的类型：整数、数字字符串、null。
+ * boolean 和不存在的字段在原来的实现中会抛出异常，没有可以对比的基准
+ *
+ * @author zxd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CoercionBenchmark {
+
+    @Param({"number", "text", "null"})
+    public String source;
+
+    private JacksonContext context;
+
+    private JacksonObject object;
+
+    @Setup
+    public void setUp() {
+        object = new JacksonObject();
+        context = object.context();
+        switch (source) {
+            case "number":
+                object.put("v", 42);
+                break;
+            case "text":
+                object.put("v", "42");
+                break;
+            default:
+                object.put("v", (Object) null);
+                break;
+        }
+    }
+
+    @Benchmark
+    public int intValue() {
+        return object.intValue("v");
+    }
+
+    @Benchmark
+    public int intValueConvert() {
+        JsonNode value = object.getNode("v");
+        if (value.canConvertToInt()) {
+            return value.intValue();
+        }
+        return context.convert(value, int.class);
+    }
+
+    @Benchmark
+    public long longValue() {
+        return object.longValue("v");
+    }
+
+    @Benchmark
+    public long longValueConvert() {
+        JsonNode value = object.getNode("v");
+        if (value.canConvertToLong()) {
+            return value.longValue();
+        }
+        return context.convert(value, long.class);
+    }
+
+    @Benchmark
+    public double doubleValue() {
+        return object.doubleValue("v");
+    }
+
+    @Benchmark
+    public double doubleValueConvert() {
+        JsonNode value = object.getNode("v");
+        if (value.canConvertToInt()) {
+            return value.doubleValue();
+        }
+        return context.convert(value, double.class);
+    }
+
+    @Benchmark
+    public short shortValue() {
+        return object.shortValue("v");
+    }
+
+    @Benchmark
+    public short shortValueConvert() {
+        JsonNode value = object.getNode("v");
+        if (value.canConvertToInt()) {
+            return value.shortValue();
+        }
+        return context.convert(value, short.class);
+    }
+
+    @Benchmark
+    public float floatValue() {
+        return object.floatValue("v");
+    }
+
+    @Benchmark
+    public float floatValueConvert() {
+        JsonNode value = object.getNode("v");
+        if (value.isFloatingPointNumber()) {
+            return value.floatValue();
+        }
+        return context.convert(value, float.class);
+    }
+}
@@ -0,0 +1,79 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JacksonArray 反序列化对比：JacksonArrayDeserializer 单次遍历直接填充 ArrayNode，
+ * 原来的 @JsonCreator 先读成 List&lt;Object&gt; 再 valueToTree
+ * <p>
+ * creator 使用没有注册 JacksonModule 的 ObjectMapper，只能走 @JsonCreator
+ *
+ * @author zxd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeserializerBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private byte[] json;
+
+    private ObjectReader deserializer;
+
+    private ObjectReader creator;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                    .append(",\"name\":\"name-").append(i)
+                    .append("\",\"score\":").append(i * 0.5)
+                    .append(",\"tags\":[\"a\",\"b\",").append(i).append("]}");
+        }
+        json = builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+        deserializer = Jackson.getObjectMapper().readerFor(JacksonArray.class);
+        creator = new ObjectMapper().readerFor(JacksonArray.class);
+
+        JacksonArray expected = deserializer.readValue(json);
+        JacksonArray actual = creator.readValue(json);
+        if (expected.size() != size || !expected.toString().equals(actual.toString())) {
+            throw new IllegalStateException("deserializer and creator results differ");
+        }
+    }
+
+    @Benchmark
+    public JacksonArray deserializer() throws IOException {
+        return deserializer.readValue(json);
+    }
+
+    @Benchmark
+    public JacksonArray creator() throws IOException {
+        return creator.readValue(json);
+    }
+}
@@ -0,0 +1,107 @@
+package cn.zxdposter.jackson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并行解析 NDJSON 在不同线程数下的扩展性，与单线程逐行读取对比
+ * <p>
+ * 输入约 9MB，按分块规则至少切成 4 个分块。setUp 中校验有序模式的交付顺序与输入顺序一致，
+ * 无序模式每一行都交付且只交付一次，不一致时直接失败
+ *
+ * @author zxd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinesLoaderBenchmark {
+
+    private static final int LINES = 150_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private byte[] bytes;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            builder.append("{\"id\":").append(i)
+                    .append(",\"name\":\"name-").append(i)
+                    .append("\",\"score\":").append(i * 0.25)
+                    .append(",\"active\":").append(i % 2 == 0)
+                    .append("}\n");
+        }
+        bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+        pool = new ForkJoinPool(threads);
+
+        List<Long> ordered = new ArrayList<>(LINES);
+        Jackson.parseLinesParallel(bytes, JacksonObject.class, true, pool,
+                object -> ordered.add(object.longValue("id")));
+        if (ordered.size() != LINES) {
+            throw new IllegalStateException("ordered: expected " + LINES + " lines, got " + ordered.size());
+        }
+        for (int i = 0; i < LINES; i++) {
+            if (ordered.get(i) != i) {
+                throw new IllegalStateException("ordered: line " + i + " delivered as id " + ordered.get(i));
+            }
+        }
+
+        BitSet seen = new BitSet(LINES);
+        int[] count = new int[1];
+        Jackson.parseLinesParallel(bytes, JacksonObject.class, false, pool, object -> {
+            seen.set((int) object.longValue("id"));
+            count[0]++;
+        });
+        if (count[0] != LINES || seen.cardinality() != LINES) {
+            throw new IllegalStateException("unordered: expected " + LINES + " distinct lines, got "
+                    + seen.cardinality() + " of " + count[0]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void ordered(Blackhole blackhole) throws IOException {
+        Jackson.parseLinesParallel(bytes, JacksonObject.class, true, pool, blackhole::consume);
+    }
+
+    @Benchmark
+    public void unordered(Blackhole blackhole) throws IOException {
+        Jackson.parseLinesParallel(bytes, JacksonObject.class, false, pool, blackhole::consume);
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) throws IOException {
+        Jackson.readLines(new ByteArrayInputStream(bytes)).forEachRemaining(blackhole::consume);
+    }
+}
@@ -1,11 +1,22 @@
 package cn.zxdposter.jackson;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * 对 jackson 的封装
@@ -17,12 +28,92 @@ import java.io.IOException;
  */
 public abstract class Jackson {
     /**
-     * 共用对象，与系统统一设置结合，在 spring 项目中，使用 Jackson2ObjectMapperBuilder.build() 生成.
+     * 默认上下文，持有共用对象以及对应的 ObjectReader、ObjectWriter 缓存，与系统统一设置结合，
+     * 在 spring 项目中，使用 Jackson2ObjectMapperBuilder.build() 生成.
+     * <p>
+     * 整体不可变，替换时整体替换，volatile 保证替换后其它线程立即可见
      */
-    protected static ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static volatile JacksonContext defaultContext = new JacksonContext(new ObjectMapper(), 0, true);
 
-    public static void setObjectMapper(ObjectMapper objectMapper) {
-        OBJECT_MAPPER = objectMapper;
+    /**
+     * 共用对象，只为兼容保留，替换时同步更新
+     *
+     * @deprecated 使用 {@link #getObjectMapper()}
+     */
+    @Deprecated
+    protected static volatile ObjectMapper OBJECT_MAPPER = defaultContext.getObjectMapper();
+
+    /**
+     * 需要预热的类型，替换 ObjectMapper 前会先在新的 ObjectMapper 上解析这些类型
+     */
+    private static final Set<Type> WARM_UP_TYPES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 获取当前的共用对象
+     *
+     * @return ObjectMapper
+     */
+    public static ObjectMapper getObjectMapper() {
+        return defaultContext.getObjectMapper();
+    }
+
+    /**
+     * 获取默认上下文，{@link #setObjectMapper(ObjectMapper)} 后会变成新的上下文
+     *
+     * @return 默认上下文
+     */
+    public static JacksonContext getDefaultContext() {
+        return defaultContext;
+    }
+
+    /**
+     * 获取当前共用对象的版本，每次 {@link #setObjectMapper(ObjectMapper)} 加 1
+     *
+     * @return 版本
+     */
+    public static long getObjectMapperVersion() {
+        return defaultContext.getVersion();
+    }
+
+    /**
+     * 替换共用对象，同时注册 {@link JacksonModule}
+     * <p>
+     * 先在新的 ObjectMapper 上预热 {@link #addWarmUpType(Class)} 登记的类型，再一次性替换，
+     * 替换前一直使用旧的 ObjectMapper 以及缓存，避免替换后热点类型集中重新解析
+     * <p>
+     * 传入的 ObjectMapper 本身会被修改（注册 JacksonModule），不会复制。传入前需要完成全部配置，
+     * 缓存的 ObjectReader、ObjectWriter 创建时已经固定了配置，之后再修改这个 ObjectMapper 不会生效
+     *
+     * @param objectMapper 新的 ObjectMapper
+     */
+    public static synchronized void setObjectMapper(ObjectMapper objectMapper) {
+        JacksonContext next = new JacksonContext(objectMapper, defaultContext.getVersion() + 1, true);
+        next.warmUp(WARM_UP_TYPES);
+        defaultContext = next;
+        OBJECT_MAPPER = next.getObjectMapper();
+    }
+
+    /**
+     * 登记需要预热的类型，同时在当前 ObjectMapper 上预热
+     *
+     * @param type 类型
+     */
+    public static void addWarmUpType(Class<?> type) {
+        addWarmUpType((Type) type);
+    }
+
+    /**
+     * 登记需要预热的类型，同时在当前 ObjectMapper 上预热
+     *
+     * @param typeReference 能够嵌套模版转化，比如 new TypeReference< Map< String,String>>(){}
+     */
+    public static void addWarmUpType(TypeReference<?> typeReference) {
+        addWarmUpType(typeReference.getType());
+    }
+
+    private static void addWarmUpType(Type type) {
+        WARM_UP_TYPES.add(type);
+        defaultContext.warmUp(Collections.singleton(type));
     }
 
     /**
@@ -32,7 +123,7 @@ public abstract class Jackson {
      * @return 封装的 JacksonObject 对象
      */
     public static JacksonObject convertObject(Object value) {
-        return OBJECT_MAPPER.convertValue(value, JacksonObject.class);
+        return defaultContext.convertObject(value);
     }
 
     /**
@@ -42,7 +133,7 @@ public abstract class Jackson {
      * @return 封装的 JacksonArray 对象
      */
     public static JacksonArray convertArray(Object value) {
-        return OBJECT_MAPPER.convertValue(value, JacksonArray.class);
+        return defaultContext.convertArray(value);
     }
 
     /**
@@ -54,7 +145,7 @@ public abstract class Jackson {
      * @return 转化后对象
      */
     public static <T> T convert(Object value, Class<T> type) {
-        return OBJECT_MAPPER.convertValue(value, type);
+        return defaultContext.convert(value, type);
     }
 
     /**
@@ -66,7 +157,7 @@ public abstract class Jackson {
      * @return 转化后对象
      */
     public static <T> T convert(Object value, TypeReference<T> typeReference) {
-        return OBJECT_MAPPER.convertValue(value, typeReference);
+        return defaultContext.convert(value, typeReference);
     }
 
     /**
@@ -76,7 +167,7 @@ public abstract class Jackson {
      * @return json string
      */
     public static String objectToString(Object object) throws IOException {
-        return OBJECT_MAPPER.writeValueAsString(object);
+        return defaultContext.objectToString(object);
     }
 
     /**
@@ -86,10 +177,7 @@ public abstract class Jackson {
      * @return 封装的 JacksonObject 对象
      */
     public static JacksonObject parseObject(String text) throws IOException {
-        if (text == null) {
-            return new JacksonObject();
-        }
-        return new JacksonObject((ObjectNode) OBJECT_MAPPER.readTree(text));
+        return defaultContext.parseObject(text);
     }
 
     /**
@@ -99,7 +187,7 @@ public abstract class Jackson {
      * @return java 对象
      */
     public static <T> T parseJavaObject(String text, TypeReference<T> typeReference) throws IOException {
-        return OBJECT_MAPPER.readValue(text, typeReference);
+        return defaultContext.parseJavaObject(text, typeReference);
     }
 
 
@@ -110,7 +198,7 @@ public abstract class Jackson {
      * @return java 对象
      */
     public static <T> T parseJavaObject(String text, Class<T> type) throws IOException {
-        return OBJECT_MAPPER.readValue(text, type);
+        return defaultContext.parseJavaObject(text, type);
     }
 
     /**
@@ -120,7 +208,366 @@ public abstract class Jackson {
      * @return 封装的 parseArray 对象
      */
     public static JacksonArray parseArray(String text) throws IOException {
-        return new JacksonArray((ArrayNode) OBJECT_MAPPER.readTree(text));
+        return defaultContext.parseArray(text);
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonObject 对象，直接使用字节解析，不需要先解码成 String
+     *
+     * @param bytes utf-8 编码的 json
+     * @return 封装的 JacksonObject 对象
+     */
+    public static JacksonObject parseObject(byte[] bytes) throws IOException {
+        return defaultContext.parseObject(bytes);
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonObject 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return 封装的 JacksonObject 对象
+     */
+    public static JacksonObject parseObject(byte[] bytes, int offset, int len) throws IOException {
+        return defaultContext.parseObject(bytes, offset, len);
+    }
+
+    /**
+     * utf-8 字节延迟转化成封装 JacksonObject 对象，第一次读取或者修改时才解析，未解析时序列化直接输出原来的字节
+     * <p>
+     * 适合只读取少量字段甚至原样转发的消息，字节不会复制，之后不能再修改。字节必须是 json 对象，开头不是 { 时抛出 IllegalArgumentException
+     *
+     * @param bytes utf-8 编码的 json 对象
+     * @return 封装的 JacksonObject 对象
+     */
+    public static JacksonObject parseObjectLazily(byte[] bytes) {
+        return defaultContext.parseObjectLazily(bytes);
+    }
+
+    /**
+     * 流式提取指定路径的值，不构建整个 ObjectNode，适合只需要少量字段做路由、过滤的场景
+     * <p>
+     * 路径使用 . 分隔，数组使用数字下标，比如 "a.b.0.c"；返回的 JacksonObject 以路径为 key，找不到的路径不存在
+     *
+     * @param bytes utf-8 编码的 json
+     * @param paths 需要提取的路径
+     * @return 以路径为 key 的 JacksonObject
+     */
+    public static JacksonObject peek(byte[] bytes, String... paths) throws IOException {
+        return defaultContext.peek(bytes, paths);
+    }
+
+    /**
+     * 流式提取指定路径的值，见 {@link #peek(byte[], String...)}
+     *
+     * @param text  json string
+     * @param paths 需要提取的路径
+     * @return 以路径为 key 的 JacksonObject
+     */
+    public static JacksonObject peek(String text, String... paths) throws IOException {
+        return defaultContext.peek(text, paths);
+    }
+
+    /**
+     * 输入流转化成封装 JacksonObject 对象，输入流是否关闭取决于 ObjectMapper 的 AUTO_CLOSE_SOURCE 配置
+     *
+     * @param in utf-8 编码的输入流
+     * @return 封装的 JacksonObject 对象
+     */
+    public static JacksonObject parseObject(InputStream in) throws IOException {
+        return defaultContext.parseObject(in);
+    }
+
+    /**
+     * ByteBuffer 转化成封装 JacksonObject 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return 封装的 JacksonObject 对象
+     */
+    public static JacksonObject parseObject(ByteBuffer buffer) throws IOException {
+        return defaultContext.parseObject(buffer);
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonArray 对象
+     *
+     * @param bytes utf-8 编码的 json
+     * @return 封装的 JacksonArray 对象
+     */
+    public static JacksonArray parseArray(byte[] bytes) throws IOException {
+        return defaultContext.parseArray(bytes);
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonArray 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return 封装的 JacksonArray 对象
+     */
+    public static JacksonArray parseArray(byte[] bytes, int offset, int len) throws IOException {
+        return defaultContext.parseArray(bytes, offset, len);
+    }
+
+    /**
+     * 输入流转化成封装 JacksonArray 对象
+     *
+     * @param in utf-8 编码的输入流
+     * @return 封装的 JacksonArray 对象
+     */
+    public static JacksonArray parseArray(InputStream in) throws IOException {
+        return defaultContext.parseArray(in);
+    }
+
+    /**
+     * ByteBuffer 转化成封装 JacksonArray 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return 封装的 JacksonArray 对象
+     */
+    public static JacksonArray parseArray(ByteBuffer buffer) throws IOException {
+        return defaultContext.parseArray(buffer);
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes utf-8 编码的 json
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(byte[] bytes, Class<T> type) throws IOException {
+        return defaultContext.parseJavaObject(bytes, type);
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes utf-8 编码的 json
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(byte[] bytes, TypeReference<T> typeReference) throws IOException {
+        return defaultContext.parseJavaObject(bytes, typeReference);
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(byte[] bytes, int offset, int len, Class<T> type) throws IOException {
+        return defaultContext.parseJavaObject(bytes, offset, len, type);
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(byte[] bytes, int offset, int len, TypeReference<T> typeReference)
+            throws IOException {
+        return defaultContext.parseJavaObject(bytes, offset, len, typeReference);
+    }
+
+    /**
+     * 输入流转化成 java 对象
+     *
+     * @param in utf-8 编码的输入流
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(InputStream in, Class<T> type) throws IOException {
+        return defaultContext.parseJavaObject(in, type);
+    }
+
+    /**
+     * 输入流转化成 java 对象
+     *
+     * @param in utf-8 编码的输入流
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(InputStream in, TypeReference<T> typeReference) throws IOException {
+        return defaultContext.parseJavaObject(in, typeReference);
+    }
+
+    /**
+     * ByteBuffer 转化成 java 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(ByteBuffer buffer, Class<T> type) throws IOException {
+        return defaultContext.parseJavaObject(buffer, type);
+    }
+
+    /**
+     * ByteBuffer 转化成 java 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return java 对象
+     */
+    public static <T> T parseJavaObject(ByteBuffer buffer, TypeReference<T> typeReference) throws IOException {
+        return defaultContext.parseJavaObject(buffer, typeReference);
+    }
+
+    /**
+     * 逐个读取顶层 json 数组的元素，内存占用只取决于最大的单个元素，适合超大的导出文件
+     * <p>
+     * 使用结束后需要关闭迭代器，输入流是否关闭取决于 ObjectMapper 的 AUTO_CLOSE_SOURCE 配置
+     *
+     * @param in utf-8 编码的输入流，内容是 json 数组
+     * @return 可关闭的迭代器
+     */
+    public static MappingIterator<JacksonObject> iterateArray(InputStream in) throws IOException {
+        return defaultContext.iterateArray(in);
+    }
+
+    /**
+     * 逐个读取文件中顶层 json 数组的元素，关闭迭代器时关闭文件
+     *
+     * @param path 文件路径，内容是 utf-8 编码的 json 数组
+     * @return 可关闭的迭代器
+     */
+    public static MappingIterator<JacksonObject> iterateArray(Path path) throws IOException {
+        return defaultContext.iterateArray(path);
+    }
+
+    /**
+     * 逐个读取顶层 json 数组的元素并转化成 java 对象，见 {@link #iterateArray(InputStream)}
+     *
+     * @param in   utf-8 编码的输入流，内容是 json 数组
+     * @param type 元素类型
+     * @return 可关闭的迭代器
+     */
+    public static <T> MappingIterator<T> iterateArray(InputStream in, Class<T> type) throws IOException {
+        return defaultContext.iterateArray(in, type);
+    }
+
+    /**
+     * 逐个读取顶层 json 数组的元素并转化成 java 对象，见 {@link #iterateArray(InputStream)}
+     *
+     * @param in            utf-8 编码的输入流，内容是 json 数组
+     * @param typeReference 元素类型
+     * @return 可关闭的迭代器
+     */
+    public static <T> MappingIterator<T> iterateArray(InputStream in, TypeReference<T> typeReference)
+            throws IOException {
+        return defaultContext.iterateArray(in, typeReference);
+    }
+
+    /**
+     * 逐个读取文件中顶层 json 数组的元素并转化成 java 对象，关闭迭代器时关闭文件
+     *
+     * @param path 文件路径，内容是 utf-8 编码的 json 数组
+     * @param type 元素类型
+     * @return 可关闭的迭代器
+     */
+    public static <T> MappingIterator<T> iterateArray(Path path, Class<T> type) throws IOException {
+        return defaultContext.iterateArray(path, type);
+    }
+
+    /**
+     * 逐个读取文件中顶层 json 数组的元素并转化成 java 对象，关闭迭代器时关闭文件
+     *
+     * @param path          文件路径，内容是 utf-8 编码的 json 数组
+     * @param typeReference 元素类型
+     * @return 可关闭的迭代器
+     */
+    public static <T> MappingIterator<T> iterateArray(Path path, TypeReference<T> typeReference) throws IOException {
+        return defaultContext.iterateArray(path, typeReference);
+    }
+
+    /**
+     * 逐行读取 NDJSON（JSON Lines），所有行共用同一个 JsonParser，不需要先按行拆分成 String
+     * <p>
+     * 空行会被跳过；使用结束后需要关闭迭代器，输入流是否关闭取决于 ObjectMapper 的 AUTO_CLOSE_SOURCE 配置
+     *
+     * @param in utf-8 编码的输入流
+     * @return 可关闭的迭代器
+     */
+    public static MappingIterator<JacksonObject> readLines(InputStream in) throws IOException {
+        return defaultContext.readLines(in);
+    }
+
+    /**
+     * 逐行读取 NDJSON（JSON Lines）并转化成 java 对象，见 {@link #readLines(InputStream)}
+     *
+     * @param in   utf-8 编码的输入流
+     * @param type 每一行的类型
+     * @return 可关闭的迭代器
+     */
+    public static <T> MappingIterator<T> readLines(InputStream in, Class<T> type) throws IOException {
+        return defaultContext.readLines(in, type);
+    }
+
+    /**
+     * 创建 NDJSON（JSON Lines）写入器，每次写入一行，不会为每条记录生成 String
+     *
+     * @param out 输出流，关闭写入器时是否关闭取决于 ObjectMapper 的 AUTO_CLOSE_TARGET 配置
+     * @return JacksonLinesWriter
+     */
+    public static JacksonLinesWriter linesWriter(OutputStream out) throws IOException {
+        return defaultContext.linesWriter(out);
+    }
+
+    /**
+     * 并行解析 NDJSON（JSON Lines），使用 ForkJoinPool.commonPool()，Consumer 只在调用方线程执行
+     *
+     * @param bytes    utf-8 编码的 NDJSON
+     * @param type     每一行的类型，可以是 JacksonObject
+     * @param ordered  true 按输入顺序交付，false 哪个分块先解析完先交付
+     * @param consumer 接收每一行的结果
+     */
+    public static <T> void parseLinesParallel(byte[] bytes, Class<T> type, boolean ordered,
+                                              Consumer<? super T> consumer) throws IOException {
+        defaultContext.parseLinesParallel(bytes, type, ordered, ForkJoinPool.commonPool(), consumer);
+    }
+
+    /**
+     * 并行解析 NDJSON（JSON Lines），使用指定的线程池，Consumer 只在调用方线程执行
+     *
+     * @param bytes    utf-8 编码的 NDJSON
+     * @param type     每一行的类型，可以是 JacksonObject
+     * @param ordered  true 按输入顺序交付，false 哪个分块先解析完先交付
+     * @param executor 执行解析的线程池
+     * @param consumer 接收每一行的结果
+     */
+    public static <T> void parseLinesParallel(byte[] bytes, Class<T> type, boolean ordered, Executor executor,
+                                              Consumer<? super T> consumer) throws IOException {
+        defaultContext.parseLinesParallel(bytes, type, ordered, executor, consumer);
+    }
+
+    /**
+     * 并行解析 NDJSON（JSON Lines）文件，使用 ForkJoinPool.commonPool()，Consumer 只在调用方线程执行
+     *
+     * @param path     文件路径，内容是 utf-8 编码的 NDJSON
+     * @param type     每一行的类型，可以是 JacksonObject
+     * @param ordered  true 按输入顺序交付，false 哪个分块先解析完先交付
+     * @param consumer 接收每一行的结果
+     */
+    public static <T> void parseLinesParallel(Path path, Class<T> type, boolean ordered,
+                                              Consumer<? super T> consumer) throws IOException {
+        defaultContext.parseLinesParallel(path, type, ordered, ForkJoinPool.commonPool(), consumer);
+    }
+
+    /**
+     * 并行解析 NDJSON（JSON Lines）文件，使用指定的线程池，Consumer 只在调用方线程执行
+     *
+     * @param path     文件路径，内容是 utf-8 编码的 NDJSON
+     * @param type     每一行的类型，可以是 JacksonObject
+     * @param ordered  true 按输入顺序交付，false 哪个分块先解析完先交付
+     * @param executor 执行解析的线程池
+     * @param consumer 接收每一行的结果
+     */
+    public static <T> void parseLinesParallel(Path path, Class<T> type, boolean ordered, Executor executor,
+                                              Consumer<? super T> consumer) throws IOException {
+        defaultContext.parseLinesParallel(path, type, ordered, executor, consumer);
     }
 
     /**
@@ -130,7 +577,59 @@ public abstract class Jackson {
      * @return byte 数组
      */
     public static byte[] objectToBytes(Object object) throws IOException {
-        return OBJECT_MAPPER.writeValueAsBytes(object);
+        return defaultContext.objectToBytes(object);
+    }
+
+    /**
+     * java 对象直接序列化写入输出流，不会生成中间的 String 或 byte 数组，也不会关闭输出流
+     *
+     * @param object java 对象
+     * @param out    输出流
+     */
+    public static void writeTo(Object object, OutputStream out) throws IOException {
+        defaultContext.writeTo(object, out);
+    }
+
+    /**
+     * java 对象直接序列化写入 Writer，不会生成中间的 String，也不会关闭 Writer
+     *
+     * @param object java 对象
+     * @param writer Writer
+     */
+    public static void writeTo(Object object, Writer writer) throws IOException {
+        defaultContext.writeTo(object, writer);
+    }
+
+    /**
+     * java 对象直接序列化写入 ByteBuffer，从 position 开始写入并移动 position，空间不足时抛出 BufferOverflowException
+     *
+     * @param object java 对象
+     * @param buffer ByteBuffer
+     */
+    public static void writeTo(Object object, ByteBuffer buffer) throws IOException {
+        defaultContext.writeTo(object, buffer);
+    }
+
+    /**
+     * 封装对象绑定的上下文，为 null 时使用默认上下文，跟随 {@link #setObjectMapper(ObjectMapper)} 变化
+     */
+    final JacksonContext context;
+
+    protected Jackson() {
+        this(null);
+    }
+
+    protected Jackson(JacksonContext context) {
+        this.context = context;
+    }
+
+    /**
+     * 获取封装对象使用的上下文
+     *
+     * @return 绑定的上下文，没有绑定时返回默认上下文
+     */
+    protected JacksonContext context() {
+        return context != null ? context : defaultContext;
     }
 
     /**
@@ -139,7 +638,34 @@ public abstract class Jackson {
      * @return json string
      */
     public String toJsonString() throws IOException {
-        return OBJECT_MAPPER.writeValueAsString(this);
+        return context().objectToString(this);
+    }
+
+    /**
+     * 直接序列化写入输出流，不会关闭输出流
+     *
+     * @param out 输出流
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        context().writeTo(this, out);
+    }
+
+    /**
+     * 直接序列化写入 Writer，不会关闭 Writer
+     *
+     * @param writer Writer
+     */
+    public void writeTo(Writer writer) throws IOException {
+        context().writeTo(this, writer);
+    }
+
+    /**
+     * 直接序列化写入 ByteBuffer，从 position 开始写入并移动 position，空间不足时抛出 BufferOverflowException
+     *
+     * @param buffer ByteBuffer
+     */
+    public void writeTo(ByteBuffer buffer) throws IOException {
+        context().writeTo(this, buffer);
     }
 
     /**
@@ -149,7 +675,7 @@ public abstract class Jackson {
      * @return json 对象
      */
     public <T> T toJava(Class<T> type) {
-        return OBJECT_MAPPER.convertValue(this, type);
+        return context().convert(this, type);
     }
 
     /**
@@ -159,7 +685,7 @@ public abstract class Jackson {
      * @return json 对象
      */
     public <T> T toJava(TypeReference<T> typeReference) {
-        return OBJECT_MAPPER.convertValue(this, typeReference);
+        return context().convert(this, typeReference);
     }
 
     /**
@@ -4,18 +4,31 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 封装 ArrayNode 的一些操作，贴近 fastjson 的写法
@@ -30,12 +43,29 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      */
     private final ArrayNode arrayNode;
 
+    /**
+     * 是否使用哈希索引查找元素下标，见 {@link #enableIndex()}
+     */
+    private boolean indexEnabled;
+
+    /**
+     * 元素到下标的哈希索引，value 为 {第一次出现的下标, 最后一次出现的下标}，为 null 时在下一次查找时重新建立
+     */
+    private Map<JsonNode, int[]> valueIndex;
+
+    /**
+     * 哈希索引已经包含的元素数量，之后追加的元素在查找时补充进索引
+     */
+    private int indexedSize;
+
     public ArrayNode getArrayNode() {
         return arrayNode;
     }
 
     /**
      * 序列化指定函数
+     * <p>
+     * 注册了 {@link JacksonModule} 时会使用 {@link JacksonArraySerializer}，这里只作为未注册时的兜底
      *
      * @return 序列化结果
      */
@@ -46,13 +76,15 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
 
     /**
      * 反序列化指定函数
+     * <p>
+     * 注册了 {@link JacksonModule} 时会使用 {@link JacksonArrayDeserializer}，这里只作为未注册时的兜底
      *
      * @param value 反序列化数据来源
      * @return 封装的 JacksonArray 对象
      */
     @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
     private static JacksonArray deserialization(List<Object> value) {
-        ArrayNode arrayNode = OBJECT_MAPPER.valueToTree(value);
+        ArrayNode arrayNode = getObjectMapper().valueToTree(value);
         return new JacksonArray(arrayNode);
     }
 
@@ -62,14 +94,25 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @param arrayNode 被封装对象
      */
     public JacksonArray(ArrayNode arrayNode) {
+        this(arrayNode, null);
+    }
+
+    /**
+     * 提供 ArrayNode 封装，并绑定上下文
+     *
+     * @param arrayNode 被封装对象
+     * @param context   上下文，为 null 时使用默认上下文
+     */
+    JacksonArray(ArrayNode arrayNode, JacksonContext context) {
+        super(context);
         this.arrayNode = arrayNode;
     }
 
     /**
-     * 使用继承来自于 Jackson 的 OBJECT_MAPPER 创建 ArrayNode
+     * 使用继承来自于 Jackson 的共用 ObjectMapper 创建 ArrayNode
      */
     public JacksonArray() {
-        this.arrayNode = OBJECT_MAPPER.createArrayNode();
+        this.arrayNode = getObjectMapper().createArrayNode();
     }
 
     /**
@@ -110,18 +153,168 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
         return arrayNode.iterator();
     }
 
+    /**
+     * 按下标切分的 Spliterator，大小已知且可以均匀切分，并行流可以充分利用多核
+     *
+     * @return Spliterator
+     */
+    @Override
+    public Spliterator<JsonNode> spliterator() {
+        return new NodeSpliterator(arrayNode, 0, -1);
+    }
+
+    /**
+     * 获取顺序流
+     *
+     * @return 元素的流
+     */
+    public Stream<JsonNode> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * 获取并行流
+     *
+     * @return 元素的流
+     */
+    public Stream<JsonNode> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * 获取 java 对象的顺序流，每个元素在使用时才通过缓存的 ObjectReader 直接从 JsonNode 转化，
+     * 不需要先把整个数组序列化到 TokenBuffer
+     *
+     * @param type 元素类型
+     * @return java 对象的流
+     */
+    public <T> Stream<T> stream(Class<T> type) {
+        JacksonContext context = context();
+        ObjectReader reader = context.reader(type);
+        return stream().map(node -> context.<T>convert(node, reader));
+    }
+
+    /**
+     * 转化成 java 对象列表，元素转换规则与 {@link #stream(Class)} 相同
+     * <p>
+     * 大数组可以开启 parallel，在 ForkJoinPool.commonPool() 中并行转化，结果仍然保持原来的顺序
+     *
+     * @param type     元素类型
+     * @param parallel 是否并行转化
+     * @return java 对象列表
+     */
+    public <T> List<T> toJavaList(Class<T> type, boolean parallel) {
+        Stream<T> stream = stream(type);
+        if (parallel) {
+            stream = stream.parallel();
+        }
+        return stream.collect(Collectors.toList());
+    }
+
     /**
      * 添加元素，可以为 null
+     * <p>
+     * JacksonObject、JacksonArray、JsonNode 直接放入原来的节点，不会复制，需要隔离时先调用 deepCopy；
+     * 放入自身或者包含自身的节点时会自动复制，避免形成环
      *
      * @return 自身 JacksonArray
      */
     public JacksonArray add(Object... e) {
+        JacksonContext context = context();
         for (Object o : e) {
-            arrayNode.add(OBJECT_MAPPER.valueToTree(o));
+            arrayNode.add(JacksonNodes.toNode(o, arrayNode, context));
         }
         return this;
     }
 
+    /**
+     * 添加单个元素，可以为 null
+     * <p>
+     * 避免单个元素时创建可变参数数组，同时保证装箱类型（比如值为 null 的 Integer）不会被拆箱到基础类型的重载
+     *
+     * @param e 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray add(Object e) {
+        arrayNode.add(JacksonNodes.toNode(e, arrayNode, context()));
+        return this;
+    }
+
+    /**
+     * 添加 int 元素，不需要装箱
+     *
+     * @param e 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray add(int e) {
+        arrayNode.add(JacksonNodes.intNode(e, context()));
+        return this;
+    }
+
+    /**
+     * 添加 long 元素，不需要装箱
+     *
+     * @param e 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray add(long e) {
+        arrayNode.add(JacksonNodes.longNode(e, context()));
+        return this;
+    }
+
+    /**
+     * 添加 float 元素，不需要装箱
+     *
+     * @param e 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray add(float e) {
+        arrayNode.add(JacksonNodes.floatNode(e, context()));
+        return this;
+    }
+
+    /**
+     * 添加 double 元素，不需要装箱
+     *
+     * @param e 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray add(double e) {
+        arrayNode.add(JacksonNodes.doubleNode(e, context()));
+        return this;
+    }
+
+    /**
+     * 添加 boolean 元素，不需要装箱
+     *
+     * @param e 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray add(boolean e) {
+        arrayNode.add(e);
+        return this;
+    }
+
+    /**
+     * 添加 char 元素，与装箱后的 Character 一样作为字符串写入，避免被当作 int 写入
+     *
+     * @param e 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray add(char e) {
+        arrayNode.add(String.valueOf(e));
+        return this;
+    }
+
+    /**
+     * 深度复制，复制出来的对象与原对象互不影响
+     *
+     * @return 新的 JacksonArray
+     */
+    public JacksonArray deepCopy() {
+        return new JacksonArray(arrayNode.deepCopy(), context);
+    }
+
     /**
      * 移除元素
      *
@@ -130,6 +323,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      */
     public JacksonArray remove(int index) {
         arrayNode.remove(index);
+        valueIndex = null;
         return this;
     }
 
@@ -140,22 +334,84 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      */
     public JacksonArray removeAll() {
         arrayNode.removeAll();
+        valueIndex = null;
         return this;
     }
 
     /**
      * 添加所有元素
+     * <p>
+     * 元素先转换到预设容量的 ArrayList 中，再通过 addAll(ArrayNode) 一次性追加，
+     * ArrayNode.addAll(Collection) 会逐个 add，内部列表会多次扩容
      *
      * @param objects 元素列表
      * @return 自身 JacksonArray
      */
     public JacksonArray addAll(Collection<?> objects) {
-        List<JsonNode> collect = objects.stream().map(v -> OBJECT_MAPPER.convertValue(v, JsonNode.class))
-                .collect(Collectors.toList());
-        arrayNode.addAll(collect);
+        JacksonContext context = context();
+        List<JsonNode> nodes = new ArrayList<>(objects.size());
+        for (Object value : objects) {
+            nodes.add(JacksonNodes.toNode(value, arrayNode, context));
+        }
+        appendAll(context.getObjectMapper().getNodeFactory(), nodes);
         return this;
     }
 
+    /**
+     * 批量添加 int 元素，不需要装箱
+     *
+     * @param values 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray addAll(int[] values) {
+        JacksonContext context = context();
+        List<JsonNode> nodes = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            nodes.add(JacksonNodes.intNode(values[i], context));
+        }
+        appendAll(context.getObjectMapper().getNodeFactory(), nodes);
+        return this;
+    }
+
+    /**
+     * 批量添加 long 元素，不需要装箱
+     *
+     * @param values 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray addAll(long[] values) {
+        JacksonContext context = context();
+        List<JsonNode> nodes = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            nodes.add(JacksonNodes.longNode(values[i], context));
+        }
+        appendAll(context.getObjectMapper().getNodeFactory(), nodes);
+        return this;
+    }
+
+    /**
+     * 批量添加 double 元素，不需要装箱
+     *
+     * @param values 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray addAll(double[] values) {
+        JacksonContext context = context();
+        List<JsonNode> nodes = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            nodes.add(JacksonNodes.doubleNode(values[i], context));
+        }
+        appendAll(context.getObjectMapper().getNodeFactory(), nodes);
+        return this;
+    }
+
+    /**
+     * 包装成 ArrayNode 后追加，addAll(ArrayNode) 直接对内部列表调用一次 addAll
+     */
+    private void appendAll(JsonNodeFactory factory, List<JsonNode> nodes) {
+        arrayNode.addAll(new ArrayNode(factory, nodes));
+    }
+
     /**
      * 替换元素，如果下标不合法，直接追加元素
      *
@@ -164,21 +420,106 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return 自身 JacksonArray
      */
     public JacksonArray set(int index, Object element) {
-        JsonNode jsonNode = OBJECT_MAPPER.valueToTree(element);
+        return setNode(index, JacksonNodes.toNode(element, arrayNode, context()));
+    }
+
+    /**
+     * 替换为 int 元素，不需要装箱，如果下标不合法，直接追加元素
+     *
+     * @param index   原来的下标
+     * @param element 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray set(int index, int element) {
+        return setNode(index, JacksonNodes.intNode(element, context()));
+    }
+
+    /**
+     * 替换为 long 元素，不需要装箱，如果下标不合法，直接追加元素
+     *
+     * @param index   原来的下标
+     * @param element 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray set(int index, long element) {
+        return setNode(index, JacksonNodes.longNode(element, context()));
+    }
+
+    /**
+     * 替换为 float 元素，不需要装箱，如果下标不合法，直接追加元素
+     *
+     * @param index   原来的下标
+     * @param element 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray set(int index, float element) {
+        return setNode(index, JacksonNodes.floatNode(element, context()));
+    }
+
+    /**
+     * 替换为 double 元素，不需要装箱，如果下标不合法，直接追加元素
+     *
+     * @param index   原来的下标
+     * @param element 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray set(int index, double element) {
+        return setNode(index, JacksonNodes.doubleNode(element, context()));
+    }
+
+    /**
+     * 替换为 boolean 元素，不需要装箱，如果下标不合法，直接追加元素
+     *
+     * @param index   原来的下标
+     * @param element 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray set(int index, boolean element) {
+        return setNode(index, arrayNode.booleanNode(element));
+    }
 
+    /**
+     * 替换为 char 元素，与装箱后的 Character 一样作为字符串写入，如果下标不合法，直接追加元素
+     *
+     * @param index   原来的下标
+     * @param element 元素
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray set(int index, char element) {
+        return setNode(index, arrayNode.textNode(String.valueOf(element)));
+    }
+
+    private JacksonArray setNode(int index, JsonNode jsonNode) {
         if (index < 0 || index >= arrayNode.size()) {
             arrayNode.add(jsonNode);
         } else {
             arrayNode.set(index, jsonNode);
+            valueIndex = null;
         }
 
         return this;
     }
 
+    /**
+     * 开启哈希索引，之后 indexOf、lastIndexOf、containsValue 查找字符串、数字、boolean、null 等值元素时不再遍历整个数组
+     * <p>
+     * 索引在第一次查找时建立，add 追加的元素在查找时补充进索引，set、remove 会使索引失效，下一次查找时重新建立。
+     * 对象、数组元素可能被外部修改，不进入索引，仍然遍历查找。
+     * <p>
+     * 只能跟踪通过当前 JacksonArray 的修改，通过 getArrayNode 或者其它封装对象修改同一个 ArrayNode 时，
+     * 元素数量变化和找到的下标会经过校验，但是替换元素后可能找不到新值，这种情况不要开启索引
+     *
+     * @return 自身 JacksonArray
+     */
+    public JacksonArray enableIndex() {
+        indexEnabled = true;
+        return this;
+    }
+
     /**
      * 判断元素下标
      * <p>
-     * ArrayNode 没有实现 indexOf，需要自己写 for 循环判断
+     * ArrayNode 没有实现 indexOf，需要自己写 for 循环判断，开启 {@link #enableIndex()} 后使用哈希索引
      * <p>
      * 找不到返回 -1
      *
@@ -186,7 +527,12 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return 下标
      */
     public int indexOf(Object o) {
-        JsonNode jsonNode = OBJECT_MAPPER.valueToTree(o);
+        JsonNode jsonNode = JacksonNodes.toNode(o, context());
+
+        if (isIndexable(jsonNode)) {
+            int[] positions = lookup(jsonNode);
+            return positions == null ? -1 : positions[0];
+        }
 
         for (int i = 0; i < arrayNode.size(); i++) {
             if (jsonNode.equals(arrayNode.get(i))) {
@@ -198,31 +544,98 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
     }
 
     /**
-     * 截取列表
+     * 判断元素最后一次出现的下标，开启 {@link #enableIndex()} 后使用哈希索引
+     * <p>
+     * 找不到返回 -1
      *
-     * @param fromIndex 开始下标
-     * @param toIndex   结束下标
-     * @return 新列表
+     * @param o 目标元素
+     * @return 下标
      */
-    public List<JsonNode> subList(int fromIndex, int toIndex) {
-        int size = arrayNode.size();
-        if (fromIndex < 0) {
-            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+    public int lastIndexOf(Object o) {
+        JsonNode jsonNode = JacksonNodes.toNode(o, context());
+
+        if (isIndexable(jsonNode)) {
+            int[] positions = lookup(jsonNode);
+            return positions == null ? -1 : positions[1];
         }
-        if (toIndex > size) {
-            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+
+        for (int i = arrayNode.size() - 1; i >= 0; i--) {
+            if (jsonNode.equals(arrayNode.get(i))) {
+                return i;
+            }
         }
-        if (fromIndex > toIndex) {
-            throw new IllegalArgumentException("fromIndex(" + fromIndex +
-                    ") > toIndex(" + toIndex + ")");
+
+        return -1;
+    }
+
+    /**
+     * 判断是否包含元素，开启 {@link #enableIndex()} 后使用哈希索引
+     *
+     * @param o 目标元素
+     * @return true or false
+     */
+    public boolean containsValue(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * 只有值节点进入索引，对象、数组以及 POJONode 可能被修改导致 hashCode 变化
+     */
+    private boolean isIndexable(JsonNode jsonNode) {
+        return indexEnabled && jsonNode.isValueNode() && !jsonNode.isPojo();
+    }
+
+    /**
+     * 通过索引查找，找到的下标与实际元素不一致时说明 ArrayNode 被外部修改过，重新建立索引
+     */
+    private int[] lookup(JsonNode jsonNode) {
+        int[] positions = index().get(jsonNode);
+
+        if (positions != null && !(jsonNode.equals(arrayNode.get(positions[0]))
+                && jsonNode.equals(arrayNode.get(positions[1])))) {
+            valueIndex = null;
+            positions = index().get(jsonNode);
         }
 
-        List<JsonNode> list = new ArrayList<>();
+        return positions;
+    }
+
+    private Map<JsonNode, int[]> index() {
+        int size = arrayNode.size();
+
+        if (valueIndex == null || size < indexedSize) {
+            valueIndex = new HashMap<>();
+            indexedSize = 0;
+        }
 
-        for (int i = fromIndex; i < toIndex; i++) {
-            list.add(arrayNode.get(i));
+        for (int i = indexedSize; i < size; i++) {
+            JsonNode element = arrayNode.get(i);
+            if (element.isValueNode() && !element.isPojo()) {
+                int[] positions = valueIndex.get(element);
+                if (positions == null) {
+                    valueIndex.put(element, new int[]{i, i});
+                } else {
+                    positions[1] = i;
+                }
+            }
         }
-        return list;
+        indexedSize = size;
+
+        return valueIndex;
+    }
+
+    /**
+     * 截取列表
+     * <p>
+     * 返回原 ArrayNode 上的只读视图，不复制元素，之后原数组的修改会反映到视图上，
+     * 原数组元素数量变少导致视图越界时抛出 IndexOutOfBoundsException
+     *
+     * @param fromIndex 开始下标
+     * @param toIndex   结束下标
+     * @return 只读列表视图
+     */
+    public List<JsonNode> subList(int fromIndex, int toIndex) {
+        return new Slice(arrayNode, fromIndex, toIndex);
     }
 
     /**
@@ -244,7 +657,28 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return 封装的 JacksonObject
      */
     public JacksonObject getJacksonObject(int index) {
-        return new JacksonObject((ObjectNode) arrayNode.get(index));
+        return new JacksonObject((ObjectNode) arrayNode.get(index), context);
+    }
+
+    /**
+     * 遍历所有元素，元素默认是 ObjectNode 类型，否则会抛出类型转换异常，与 {@link #getJacksonObject(int)} 一致
+     * <p>
+     * 所有元素共用同一个 JacksonObject，每次回调前重新绑定到当前元素，不会为每个元素创建封装对象，适合大数组的批量处理。
+     * 回调结束后不能继续持有该 JacksonObject，需要保留时使用 getObjectNode 或者 deepCopy
+     *
+     * @param consumer 参数为封装的元素
+     */
+    public void forEachObject(Consumer<JacksonObject> consumer) {
+        JacksonObject cursor = null;
+        for (int i = 0; i < arrayNode.size(); i++) {
+            ObjectNode element = (ObjectNode) arrayNode.get(i);
+            if (cursor == null) {
+                cursor = new JacksonObject(element, context);
+            } else {
+                cursor.rebind(element);
+            }
+            consumer.accept(cursor);
+        }
     }
 
     /**
@@ -256,7 +690,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return 封装的 JacksonArray
      */
     public JacksonArray getJacksonArray(int index) {
-        return new JacksonArray((ArrayNode) arrayNode.get(index));
+        return new JacksonArray((ArrayNode) arrayNode.get(index), context);
 
     }
 
@@ -269,7 +703,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
     public <T> T getObject(int index, Class<T> clazz) {
         JsonNode obj = arrayNode.get(index);
 
-        return OBJECT_MAPPER.convertValue(obj, clazz);
+        return context().convert(obj, clazz);
     }
 
     /**
@@ -282,7 +716,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
     public <T> T getObject(int index, TypeReference<T> typeReference) {
         JsonNode obj = arrayNode.get(index);
 
-        return OBJECT_MAPPER.convertValue(obj, typeReference);
+        return context().convert(obj, typeReference);
     }
 
     /**
@@ -294,13 +728,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return boolean
      */
     public boolean getBoolean(int index) {
-        JsonNode value = arrayNode.get(index);
-
-        if (value.isBoolean()) {
-            return value.asBoolean();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, boolean.class);
+        return JacksonNodes.booleanValue(arrayNode.get(index), context());
     }
 
     /**
@@ -326,13 +754,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return short
      */
     public short shortValue(int index) {
-        JsonNode value = arrayNode.get(index);
-
-        if (value.canConvertToInt()) {
-            return value.shortValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, short.class);
+        return JacksonNodes.shortValue(arrayNode.get(index), context());
     }
 
     /**
@@ -342,13 +764,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return int
      */
     public int intValue(int index) {
-        JsonNode value = arrayNode.get(index);
-
-        if (value.canConvertToInt()) {
-            return value.intValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, int.class);
+        return JacksonNodes.intValue(arrayNode.get(index), context());
     }
 
     /**
@@ -358,13 +774,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return long
      */
     public long longValue(int index) {
-        JsonNode value = arrayNode.get(index);
-
-        if (value.canConvertToLong()) {
-            return value.longValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, long.class);
+        return JacksonNodes.longValue(arrayNode.get(index), context());
     }
 
     /**
@@ -374,13 +784,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return float
      */
     public float floatValue(int index) {
-        JsonNode value = arrayNode.get(index);
-
-        if (value.isFloatingPointNumber()) {
-            return value.floatValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, float.class);
+        return JacksonNodes.floatValue(arrayNode.get(index), context());
     }
 
     /**
@@ -390,13 +794,88 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
      * @return double
      */
     public double doubleValue(int index) {
-        JsonNode value = arrayNode.get(index);
+        return JacksonNodes.doubleValue(arrayNode.get(index), context());
+    }
 
-        if (value.canConvertToInt()) {
-            return value.doubleValue();
+    /**
+     * 转化成 IntStream，每个元素的转换规则与 {@link #intValue(int)} 相同，不需要装箱
+     *
+     * @return IntStream
+     */
+    public IntStream intStream() {
+        JacksonContext context = context();
+        int coercion = JacksonNodes.coercion(context);
+        return IntStream.range(0, arrayNode.size())
+                .map(i -> JacksonNodes.intValue(arrayNode.get(i), context, coercion));
+    }
+
+    /**
+     * 转化成 LongStream，每个元素的转换规则与 {@link #longValue(int)} 相同，不需要装箱
+     *
+     * @return LongStream
+     */
+    public LongStream longStream() {
+        JacksonContext context = context();
+        int coercion = JacksonNodes.coercion(context);
+        return IntStream.range(0, arrayNode.size())
+                .mapToLong(i -> JacksonNodes.longValue(arrayNode.get(i), context, coercion));
+    }
+
+    /**
+     * 转化成 DoubleStream，每个元素的转换规则与 {@link #doubleValue(int)} 相同，不需要装箱
+     *
+     * @return DoubleStream
+     */
+    public DoubleStream doubleStream() {
+        JacksonContext context = context();
+        int coercion = JacksonNodes.coercion(context);
+        return IntStream.range(0, arrayNode.size())
+                .mapToDouble(i -> JacksonNodes.doubleValue(arrayNode.get(i), context, coercion));
+    }
+
+    /**
+     * 一次性转化成 int 数组，每个元素的转换规则与 {@link #intValue(int)} 相同
+     *
+     * @return int 数组
+     */
+    public int[] toIntArray() {
+        JacksonContext context = context();
+        int coercion = JacksonNodes.coercion(context);
+        int[] values = new int[arrayNode.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = JacksonNodes.intValue(arrayNode.get(i), context, coercion);
         }
+        return values;
+    }
 
-        return OBJECT_MAPPER.convertValue(value, double.class);
+    /**
+     * 一次性转化成 long 数组，每个元素的转换规则与 {@link #longValue(int)} 相同
+     *
+     * @return long 数组
+     */
+    public long[] toLongArray() {
+        JacksonContext context = context();
+        int coercion = JacksonNodes.coercion(context);
+        long[] values = new long[arrayNode.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = JacksonNodes.longValue(arrayNode.get(i), context, coercion);
+        }
+        return values;
+    }
+
+    /**
+     * 一次性转化成 double 数组，每个元素的转换规则与 {@link #doubleValue(int)} 相同
+     *
+     * @return double 数组
+     */
+    public double[] toDoubleArray() {
+        JacksonContext context = context();
+        int coercion = JacksonNodes.coercion(context);
+        double[] values = new double[arrayNode.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = JacksonNodes.doubleValue(arrayNode.get(i), context, coercion);
+        }
+        return values;
     }
 
     /**
@@ -412,7 +891,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
             return value.decimalValue();
         }
 
-        return OBJECT_MAPPER.convertValue(value, BigDecimal.class);
+        return context().convert(value, BigDecimal.class);
     }
 
     /**
@@ -428,7 +907,7 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
             return value.bigIntegerValue();
         }
 
-        return OBJECT_MAPPER.convertValue(value, BigInteger.class);
+        return context().convert(value, BigInteger.class);
     }
 
     /**
@@ -457,7 +936,120 @@ public class JacksonArray extends Jackson implements Iterable<JsonNode> {
     public LocalDateTime getDateTime(int index) {
         JsonNode value = arrayNode.get(index);
 
-        return OBJECT_MAPPER.convertValue(value, LocalDateTime.class);
+        return context().convert(value, LocalDateTime.class);
+    }
+
+
+    /**
+     * ArrayNode 一段下标范围的只读视图
+     */
+    private static final class Slice extends AbstractList<JsonNode> implements RandomAccess {
+
+        private final ArrayNode arrayNode;
+        private final int offset;
+        private final int size;
+
+        Slice(ArrayNode arrayNode, int fromIndex, int toIndex) {
+            if (fromIndex < 0) {
+                throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+            }
+            if (toIndex > arrayNode.size()) {
+                throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+            }
+            if (fromIndex > toIndex) {
+                throw new IllegalArgumentException("fromIndex(" + fromIndex +
+                        ") > toIndex(" + toIndex + ")");
+            }
+            this.arrayNode = arrayNode;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+        }
+
+        @Override
+        public JsonNode get(int index) {
+            if (index < 0 || index >= size || offset + index >= arrayNode.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return arrayNode.get(offset + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<JsonNode> subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0) {
+                throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+            }
+            if (toIndex > size) {
+                throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+            }
+            return new Slice(arrayNode, offset + fromIndex, offset + toIndex);
+        }
     }
 
+    /**
+     * ArrayNode 按下标切分的 Spliterator，第一次使用时才确定结束下标
+     */
+    private static final class NodeSpliterator implements Spliterator<JsonNode> {
+
+        private final ArrayNode arrayNode;
+        private int index;
+        /**
+         * 结束下标，-1 表示还没有确定
+         */
+        private int fence;
+
+        NodeSpliterator(ArrayNode arrayNode, int origin, int fence) {
+            this.arrayNode = arrayNode;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                fence = arrayNode.size();
+            }
+            return fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super JsonNode> action) {
+            if (index < fence()) {
+                action.accept(arrayNode.get(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super JsonNode> action) {
+            for (int hi = fence(); index < hi; index++) {
+                action.accept(arrayNode.get(index));
+            }
+        }
+
+        @Override
+        public Spliterator<JsonNode> trySplit() {
+            int lo = index;
+            int mid = (lo + fence()) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new NodeSpliterator(arrayNode, lo, mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
 }
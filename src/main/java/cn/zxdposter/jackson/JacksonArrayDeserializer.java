@@ -0,0 +1,38 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.JsonNodeDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.IOException;
+
+/**
+ * JacksonArray 反序列化器
+ * <p>
+ * 直接从 JsonParser 的 token 流构建 ArrayNode，不再经过 List 中转再 valueToTree 的二次转换
+ *
+ * @author zxd
+ */
+public class JacksonArrayDeserializer extends StdDeserializer<JacksonArray> {
+
+    /**
+     * jackson 自带的 ArrayNode 反序列化器，与 readTree 使用的是同一个
+     */
+    private static final JsonDeserializer<? extends JsonNode> ARRAY_NODE_DESERIALIZER =
+            JsonNodeDeserializer.getDeserializer(ArrayNode.class);
+
+    public JacksonArrayDeserializer() {
+        super(JacksonArray.class);
+    }
+
+    @Override
+    public JacksonArray deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        ArrayNode node = (ArrayNode) ARRAY_NODE_DESERIALIZER.deserialize(p, ctxt);
+        // 通过 JacksonContext 读取时绑定该上下文，否则使用默认上下文
+        return new JacksonArray(node, (JacksonContext) ctxt.getAttribute(JacksonContext.class));
+    }
+}
@@ -0,0 +1,49 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * JacksonArray 序列化器
+ * <p>
+ * 直接把被封装的 ArrayNode 写入 JsonGenerator，不再经过 @JsonValue 的反射调用和二次查找序列化器
+ *
+ * @author zxd
+ */
+public class JacksonArraySerializer extends StdSerializer<JacksonArray> {
+
+    public JacksonArraySerializer() {
+        super(JacksonArray.class);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, JacksonArray value) {
+        return value.isEmpty();
+    }
+
+    @Override
+    public void serialize(JacksonArray value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        value.getArrayNode().serialize(gen, provider);
+    }
+
+    /**
+     * 带类型信息的序列化，类型 id 使用 JacksonArray 而不是内部的 ArrayNode，与 @JsonValue 的表现一致
+     */
+    @Override
+    public void serializeWithType(JacksonArray value, JsonGenerator gen, SerializerProvider provider,
+                                  TypeSerializer typeSer) throws IOException {
+        WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_ARRAY));
+        for (JsonNode element : value.getArrayNode()) {
+            ((JsonSerializable) element).serialize(gen, provider);
+        }
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+}
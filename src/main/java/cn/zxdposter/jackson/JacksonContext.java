@@ -0,0 +1,829 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import com.fasterxml.jackson.databind.util.LRUMap;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 持有一个 ObjectMapper 以及按类型缓存的 ObjectReader 与 ObjectWriter
+ * <p>
+ * ObjectReader、ObjectWriter 创建时会预先解析类型以及对应的序列化反序列化器，缓存后热点类型不再重复解析。
+ * 缓存与 ObjectMapper 绑定且不可替换，替换 ObjectMapper 时整体替换上下文，version 用于区分替换前后的 ObjectMapper
+ * <p>
+ * {@link Jackson} 的静态方法使用默认上下文；需要不同配置时（比如宽松的入口解析和严格的出口序列化）可以各自创建上下文，
+ * 通过上下文创建、解析、转化出来的 JacksonObject、JacksonArray 会一直使用该上下文，互不影响
+ *
+ * @author zxd
+ */
+public class JacksonContext {
+    /**
+     * 单个缓存的最大数量，超出后整体清空，与 jackson 内部的 LRUMap 行为一致
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * ObjectMapper 的版本，每次替换加 1
+     */
+    private final long version;
+
+    /**
+     * 是否是 {@link Jackson} 的默认上下文，默认上下文创建的对象不绑定上下文，跟随 setObjectMapper 变化
+     */
+    private final boolean shared;
+
+    /**
+     * 以 Class 或者 TypeReference.getType() 作为 key
+     */
+    private final LRUMap<Type, ObjectReader> readers = new LRUMap<>(16, MAX_ENTRIES);
+
+    /**
+     * 以 value 的 Class 作为 key
+     */
+    private final LRUMap<Type, ObjectWriter> writers = new LRUMap<>(16, MAX_ENTRIES);
+
+    /**
+     * 以 value 的 Class 作为 key，关闭了 AUTO_CLOSE_TARGET，用于 writeTo 写入调用方的输出流
+     */
+    private final LRUMap<Type, ObjectWriter> streamWriters = new LRUMap<>(16, MAX_ENTRIES);
+
+    /**
+     * 不指定类型的 ObjectWriter，用于 null 值
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * 不指定类型并且关闭了 AUTO_CLOSE_TARGET 的 ObjectWriter，用于 writeTo 写入 null 值
+     */
+    private final ObjectWriter streamWriter;
+
+    /**
+     * peek 读取命中值使用的 ObjectReader，读取的是文档中间的值，需要关闭 FAIL_ON_TRAILING_TOKENS
+     */
+    private final ObjectReader peekReader;
+
+    /**
+     * 创建上下文，同时注册 {@link JacksonModule}
+     * <p>
+     * 传入的 ObjectMapper 本身会被修改（注册 JacksonModule），不会复制。传入前需要完成全部配置，
+     * 缓存的 ObjectReader、ObjectWriter 创建时已经固定了配置，之后再修改这个 ObjectMapper 不会生效
+     *
+     * @param objectMapper 上下文独占的 ObjectMapper
+     */
+    public JacksonContext(ObjectMapper objectMapper) {
+        this(objectMapper, 0, false);
+    }
+
+    JacksonContext(ObjectMapper objectMapper, long version, boolean shared) {
+        this.objectMapper = objectMapper.registerModule(new JacksonModule());
+        this.version = version;
+        this.shared = shared;
+        this.writer = objectMapper.writer();
+        this.streamWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.peekReader = objectMapper.readerFor(JsonNode.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * 创建出来的封装对象需要绑定的上下文
+     *
+     * @return 默认上下文返回 null
+     */
+    JacksonContext carried() {
+        return shared ? null : this;
+    }
+
+    /**
+     * 创建空的 JacksonObject
+     *
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject createObject() {
+        return new JacksonObject(objectMapper.createObjectNode(), carried());
+    }
+
+    /**
+     * 创建空的 JacksonArray
+     *
+     * @return 封装的 JacksonArray 对象
+     */
+    public JacksonArray createArray() {
+        return new JacksonArray(objectMapper.createArrayNode(), carried());
+    }
+
+    /**
+     * 预先解析类型，Class 会同时准备 ObjectReader 与 ObjectWriter，泛型类型只准备 ObjectReader
+     *
+     * @param types Class 或者 TypeReference.getType()
+     */
+    void warmUp(Iterable<Type> types) {
+        for (Type type : types) {
+            reader(type);
+            if (type instanceof Class) {
+                streamWriterFor((Class<?>) type);
+            }
+        }
+    }
+
+    ObjectReader reader(Class<?> type) {
+        return reader((Type) type);
+    }
+
+    ObjectReader reader(TypeReference<?> typeReference) {
+        return reader(typeReference.getType());
+    }
+
+    ObjectReader reader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type));
+            if (!shared) {
+                // 反序列化出来的 JacksonObject、JacksonArray 通过该属性绑定上下文
+                reader = reader.withAttribute(JacksonContext.class, this);
+            }
+            readers.put(type, reader);
+        }
+        return reader;
+    }
+
+    ObjectWriter writer(Object value) {
+        if (value == null) {
+            return writer;
+        }
+        return writerFor(value.getClass());
+    }
+
+    private ObjectWriter writerFor(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            writer = objectMapper.writerFor(type);
+            writers.put(type, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * writeTo 使用的 ObjectWriter，不会关闭调用方的输出流，缓存后不需要每次调用 without 创建新的配置
+     */
+    private ObjectWriter streamWriter(Object value) {
+        if (value == null) {
+            return streamWriter;
+        }
+        return streamWriterFor(value.getClass());
+    }
+
+    private ObjectWriter streamWriterFor(Class<?> type) {
+        ObjectWriter writer = streamWriters.get(type);
+        if (writer == null) {
+            writer = writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            streamWriters.put(type, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * java 对象转化成封装的 JacksonObject 对象
+     *
+     * @param value java 对象，不能传递 String 或其它一些基础的变量
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject convertObject(Object value) {
+        return convert(value, reader(JacksonObject.class));
+    }
+
+    /**
+     * java 对象转化成封装的 JacksonArray 对象
+     *
+     * @param value java 对象，不能传递 String 或其它一些基础的变量
+     * @return 封装的 JacksonArray 对象
+     */
+    public JacksonArray convertArray(Object value) {
+        return convert(value, reader(JacksonArray.class));
+    }
+
+    /**
+     * java 对象转化.
+     *
+     * @param value java 对象
+     * @param type  转化类型
+     * @param <T>   模版
+     * @return 转化后对象
+     */
+    public <T> T convert(Object value, Class<T> type) {
+        return convert(value, reader(type));
+    }
+
+    /**
+     * java 对象转化
+     *
+     * @param value         java 对象
+     * @param typeReference 能够嵌套模版转化，比如 new TypeReference< Map< String,String>>(){}
+     * @param <T>           模版
+     * @return 转化后对象
+     */
+    public <T> T convert(Object value, TypeReference<T> typeReference) {
+        return convert(value, reader(typeReference));
+    }
+
+    /**
+     * java 对象转化成 json string
+     *
+     * @param object java 对象
+     * @return json string
+     */
+    public String objectToString(Object object) throws IOException {
+        return writer(object).writeValueAsString(object);
+    }
+
+    /**
+     * json string 转化成封装 JacksonObject 对象
+     *
+     * @param text json string
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject parseObject(String text) throws IOException {
+        if (text == null) {
+            return createObject();
+        }
+        return new JacksonObject((ObjectNode) objectMapper.readTree(text), carried());
+    }
+
+    /**
+     * json string 转化成 java 对象
+     *
+     * @param text json string
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(String text, TypeReference<T> typeReference) throws IOException {
+        return reader(typeReference).readValue(text);
+    }
+
+
+    /**
+     * json string 转化成 java 对象
+     *
+     * @param text json string
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(String text, Class<T> type) throws IOException {
+        return reader(type).readValue(text);
+    }
+
+    /**
+     * json string 转化成封装 parseArray 对象
+     *
+     * @param text json string
+     * @return 封装的 parseArray 对象
+     */
+    public JacksonArray parseArray(String text) throws IOException {
+        return new JacksonArray((ArrayNode) objectMapper.readTree(text), carried());
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonObject 对象，直接使用字节解析，不需要先解码成 String
+     *
+     * @param bytes utf-8 编码的 json
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject parseObject(byte[] bytes) throws IOException {
+        if (bytes == null) {
+            return createObject();
+        }
+        return parseObject(bytes, 0, bytes.length);
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonObject 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject parseObject(byte[] bytes, int offset, int len) throws IOException {
+        if (bytes == null) {
+            return createObject();
+        }
+        return new JacksonObject((ObjectNode) objectMapper.readTree(bytes, offset, len), carried());
+    }
+
+    /**
+     * utf-8 字节延迟转化成封装 JacksonObject 对象，第一次读取或者修改时才解析，见 {@link JacksonObject}
+     * <p>
+     * 字节必须是 json 对象，不会复制，之后不能再修改。开头不是 { 时（比如数组、数字、空内容）直接抛出 IllegalArgumentException，
+     * 其它不合法的 json 在第一次解析时抛出 IllegalArgumentException
+     *
+     * @param bytes utf-8 编码的 json 对象
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject parseObjectLazily(byte[] bytes) {
+        if (bytes == null) {
+            return createObject();
+        }
+        if (!startsWithObject(bytes)) {
+            throw new IllegalArgumentException("lazily parsed json must be an object");
+        }
+        return new JacksonObject(new RawJson(bytes), carried());
+    }
+
+    /**
+     * 跳过 utf-8 BOM 和空白后第一个字节是否是 {，保证未解析时原样输出的一定是对象
+     */
+    private static boolean startsWithObject(byte[] bytes) {
+        int i = 0;
+        if (bytes.length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
+            i = 3;
+        }
+        while (i < bytes.length && (bytes[i] == ' ' || bytes[i] == '\t' || bytes[i] == '\n' || bytes[i] == '\r')) {
+            i++;
+        }
+        return i < bytes.length && bytes[i] == '{';
+    }
+
+    /**
+     * 解析延迟的 JacksonObject 持有的字节
+     */
+    ObjectNode readObjectNode(byte[] bytes) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (!(node instanceof ObjectNode)) {
+            throw new IllegalArgumentException("lazily parsed json is not an object: " + node.getNodeType());
+        }
+        return (ObjectNode) node;
+    }
+
+    /**
+     * 输入流转化成封装 JacksonObject 对象，输入流是否关闭取决于 ObjectMapper 的 AUTO_CLOSE_SOURCE 配置
+     *
+     * @param in utf-8 编码的输入流
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject parseObject(InputStream in) throws IOException {
+        if (in == null) {
+            return createObject();
+        }
+        return new JacksonObject((ObjectNode) objectMapper.readTree(in), carried());
+    }
+
+    /**
+     * ByteBuffer 转化成封装 JacksonObject 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return 封装的 JacksonObject 对象
+     */
+    public JacksonObject parseObject(ByteBuffer buffer) throws IOException {
+        if (buffer == null) {
+            return createObject();
+        }
+        if (buffer.hasArray()) {
+            return parseObject(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return parseObject(new ByteBufferBackedInputStream(buffer.duplicate()));
+    }
+
+    /**
+     * 流式提取指定路径的值，不构建整个 ObjectNode，比 parseObject 后再读取字段更省 CPU 和内存
+     * <p>
+     * 路径使用 . 分隔，数组使用数字下标，比如 "a.b.0.c"；返回的 JacksonObject 以路径为 key，
+     * 比如 peek(bytes, "type", "meta.tenantId").longValue("meta.tenantId")，找不到的路径不存在
+     *
+     * @param bytes utf-8 编码的 json
+     * @param paths 需要提取的路径
+     * @return 以路径为 key 的 JacksonObject
+     */
+    public JacksonObject peek(byte[] bytes, String... paths) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(bytes)) {
+            return peek(parser, paths);
+        }
+    }
+
+    /**
+     * 流式提取指定路径的值，见 {@link #peek(byte[], String...)}
+     *
+     * @param text  json string
+     * @param paths 需要提取的路径
+     * @return 以路径为 key 的 JacksonObject
+     */
+    public JacksonObject peek(String text, String... paths) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(text)) {
+            return peek(parser, paths);
+        }
+    }
+
+    private JacksonObject peek(JsonParser parser, String... paths) throws IOException {
+        ObjectNode result = new JacksonPeek(peekReader, objectMapper.createObjectNode(), paths).peek(parser);
+        return new JacksonObject(result, carried());
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonArray 对象
+     *
+     * @param bytes utf-8 编码的 json
+     * @return 封装的 JacksonArray 对象
+     */
+    public JacksonArray parseArray(byte[] bytes) throws IOException {
+        return parseArray(bytes, 0, bytes.length);
+    }
+
+    /**
+     * utf-8 字节转化成封装 JacksonArray 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return 封装的 JacksonArray 对象
+     */
+    public JacksonArray parseArray(byte[] bytes, int offset, int len) throws IOException {
+        return new JacksonArray((ArrayNode) objectMapper.readTree(bytes, offset, len), carried());
+    }
+
+    /**
+     * 输入流转化成封装 JacksonArray 对象
+     *
+     * @param in utf-8 编码的输入流
+     * @return 封装的 JacksonArray 对象
+     */
+    public JacksonArray parseArray(InputStream in) throws IOException {
+        return new JacksonArray((ArrayNode) objectMapper.readTree(in), carried());
+    }
+
+    /**
+     * ByteBuffer 转化成封装 JacksonArray 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return 封装的 JacksonArray 对象
+     */
+    public JacksonArray parseArray(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return parseArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return parseArray(new ByteBufferBackedInputStream(buffer.duplicate()));
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes utf-8 编码的 json
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(byte[] bytes, Class<T> type) throws IOException {
+        return reader(type).readValue(bytes);
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes utf-8 编码的 json
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(byte[] bytes, TypeReference<T> typeReference) throws IOException {
+        return reader(typeReference).readValue(bytes);
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(byte[] bytes, int offset, int len, Class<T> type) throws IOException {
+        return reader(type).readValue(bytes, offset, len);
+    }
+
+    /**
+     * utf-8 字节转化成 java 对象
+     *
+     * @param bytes  utf-8 编码的 json
+     * @param offset 开始下标
+     * @param len    长度
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(byte[] bytes, int offset, int len, TypeReference<T> typeReference)
+            throws IOException {
+        return reader(typeReference).readValue(bytes, offset, len);
+    }
+
+    /**
+     * 输入流转化成 java 对象
+     *
+     * @param in utf-8 编码的输入流
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(InputStream in, Class<T> type) throws IOException {
+        return reader(type).readValue(in);
+    }
+
+    /**
+     * 输入流转化成 java 对象
+     *
+     * @param in utf-8 编码的输入流
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(InputStream in, TypeReference<T> typeReference) throws IOException {
+        return reader(typeReference).readValue(in);
+    }
+
+    /**
+     * ByteBuffer 转化成 java 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(ByteBuffer buffer, Class<T> type) throws IOException {
+        if (buffer.hasArray()) {
+            return parseJavaObject(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), type);
+        }
+        return parseJavaObject(new ByteBufferBackedInputStream(buffer.duplicate()), type);
+    }
+
+    /**
+     * ByteBuffer 转化成 java 对象，读取 position 到 limit 之间的内容，不会改变 ByteBuffer 的 position
+     *
+     * @param buffer utf-8 编码的 ByteBuffer
+     * @return java 对象
+     */
+    public <T> T parseJavaObject(ByteBuffer buffer, TypeReference<T> typeReference) throws IOException {
+        if (buffer.hasArray()) {
+            return parseJavaObject(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(),
+                    typeReference);
+        }
+        return parseJavaObject(new ByteBufferBackedInputStream(buffer.duplicate()), typeReference);
+    }
+
+    /**
+     * 逐个读取顶层 json 数组的元素，内存占用只取决于最大的单个元素，适合超大的导出文件
+     * <p>
+     * 使用结束后需要关闭迭代器，输入流是否关闭取决于 ObjectMapper 的 AUTO_CLOSE_SOURCE 配置
+     *
+     * @param in utf-8 编码的输入流，内容是 json 数组
+     * @return 可关闭的迭代器
+     */
+    public MappingIterator<JacksonObject> iterateArray(InputStream in) throws IOException {
+        return iterateArray(in, JacksonObject.class);
+    }
+
+    /**
+     * 逐个读取文件中顶层 json 数组的元素，关闭迭代器时关闭文件
+     *
+     * @param path 文件路径，内容是 utf-8 编码的 json 数组
+     * @return 可关闭的迭代器
+     */
+    public MappingIterator<JacksonObject> iterateArray(Path path) throws IOException {
+        return iterateArray(path, JacksonObject.class);
+    }
+
+    /**
+     * 逐个读取顶层 json 数组的元素并转化成 java 对象，见 {@link #iterateArray(InputStream)}
+     *
+     * @param in   utf-8 编码的输入流，内容是 json 数组
+     * @param type 元素类型
+     * @return 可关闭的迭代器
+     */
+    public <T> MappingIterator<T> iterateArray(InputStream in, Class<T> type) throws IOException {
+        return iterateArray(objectMapper.getFactory().createParser(in), reader(type));
+    }
+
+    /**
+     * 逐个读取顶层 json 数组的元素并转化成 java 对象，见 {@link #iterateArray(InputStream)}
+     *
+     * @param in            utf-8 编码的输入流，内容是 json 数组
+     * @param typeReference 元素类型
+     * @return 可关闭的迭代器
+     */
+    public <T> MappingIterator<T> iterateArray(InputStream in, TypeReference<T> typeReference) throws IOException {
+        return iterateArray(objectMapper.getFactory().createParser(in), reader(typeReference));
+    }
+
+    /**
+     * 逐个读取文件中顶层 json 数组的元素并转化成 java 对象，关闭迭代器时关闭文件
+     *
+     * @param path 文件路径，内容是 utf-8 编码的 json 数组
+     * @param type 元素类型
+     * @return 可关闭的迭代器
+     */
+    public <T> MappingIterator<T> iterateArray(Path path, Class<T> type) throws IOException {
+        return iterateArray(createParser(path), reader(type));
+    }
+
+    /**
+     * 逐个读取文件中顶层 json 数组的元素并转化成 java 对象，关闭迭代器时关闭文件
+     *
+     * @param path          文件路径，内容是 utf-8 编码的 json 数组
+     * @param typeReference 元素类型
+     * @return 可关闭的迭代器
+     */
+    public <T> MappingIterator<T> iterateArray(Path path, TypeReference<T> typeReference) throws IOException {
+        return iterateArray(createParser(path), reader(typeReference));
+    }
+
+    /**
+     * 文件由 JsonParser 负责关闭
+     */
+    private JsonParser createParser(Path path) throws IOException {
+        return objectMapper.getFactory().createParser(Files.newInputStream(path))
+                .enable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    /**
+     * 跳过数组开始的 token 后交给 MappingIterator 逐个读取，数组结束时迭代结束
+     */
+    private <T> MappingIterator<T> iterateArray(JsonParser parser, ObjectReader reader) throws IOException {
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected START_ARRAY for iterateArray, got " + parser.currentToken());
+            }
+            parser.clearCurrentToken();
+            return reader.readValues(parser);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 逐行读取 NDJSON（JSON Lines），所有行共用同一个 JsonParser，不需要先按行拆分成 String
+     * <p>
+     * 空行会被跳过；使用结束后需要关闭迭代器，输入流是否关闭取决于 ObjectMapper 的 AUTO_CLOSE_SOURCE 配置
+     *
+     * @param in utf-8 编码的输入流
+     * @return 可关闭的迭代器
+     */
+    public MappingIterator<JacksonObject> readLines(InputStream in) throws IOException {
+        return readLines(in, JacksonObject.class);
+    }
+
+    /**
+     * 逐行读取 NDJSON（JSON Lines）并转化成 java 对象，见 {@link #readLines(InputStream)}
+     *
+     * @param in   utf-8 编码的输入流
+     * @param type 每一行的类型
+     * @return 可关闭的迭代器
+     */
+    public <T> MappingIterator<T> readLines(InputStream in, Class<T> type) throws IOException {
+        // 自己创建的 JsonParser 交给 MappingIterator 时不会把第一行的数组当作外层数组展开
+        return reader(type).readValues(objectMapper.getFactory().createParser(in));
+    }
+
+    /**
+     * 创建 NDJSON（JSON Lines）写入器，每次写入一行
+     *
+     * @param out 输出流
+     * @return JacksonLinesWriter
+     */
+    public JacksonLinesWriter linesWriter(OutputStream out) throws IOException {
+        return new JacksonLinesWriter(this, out);
+    }
+
+    /**
+     * 并行解析 NDJSON（JSON Lines），按换行切分成分块在线程池中解析，适合多核机器处理大文件
+     * <p>
+     * Consumer 只在调用方线程执行，不需要线程安全；方法在所有行交付后返回
+     *
+     * @param bytes    utf-8 编码的 NDJSON
+     * @param type     每一行的类型，可以是 JacksonObject
+     * @param ordered  true 按输入顺序交付，false 哪个分块先解析完先交付
+     * @param executor 执行解析的线程池
+     * @param consumer 接收每一行的结果
+     */
+    public <T> void parseLinesParallel(byte[] bytes, Class<T> type, boolean ordered, Executor executor,
+                                       Consumer<? super T> consumer) throws IOException {
+        new JacksonLinesLoader<>(this, type, executor).load(bytes, ordered, consumer);
+    }
+
+    /**
+     * 并行解析 NDJSON（JSON Lines）文件，分块按位置直接从文件读取，见 {@link #parseLinesParallel(byte[], Class, boolean, Executor, Consumer)}
+     *
+     * @param path     文件路径，内容是 utf-8 编码的 NDJSON
+     * @param type     每一行的类型，可以是 JacksonObject
+     * @param ordered  true 按输入顺序交付，false 哪个分块先解析完先交付
+     * @param executor 执行解析的线程池
+     * @param consumer 接收每一行的结果
+     */
+    public <T> void parseLinesParallel(Path path, Class<T> type, boolean ordered, Executor executor,
+                                       Consumer<? super T> consumer) throws IOException {
+        new JacksonLinesLoader<>(this, type, executor).load(path, ordered, consumer);
+    }
+
+    /**
+     * json string 转化成 byte 数组
+     *
+     * @param object java 对象
+     * @return byte 数组
+     */
+    public byte[] objectToBytes(Object object) throws IOException {
+        return writer(object).writeValueAsBytes(object);
+    }
+
+    /**
+     * java 对象直接序列化写入输出流，不会生成中间的 String 或 byte 数组，也不会关闭输出流
+     *
+     * @param object java 对象
+     * @param out    输出流
+     */
+    public void writeTo(Object object, OutputStream out) throws IOException {
+        streamWriter(object).writeValue(out, object);
+    }
+
+    /**
+     * java 对象直接序列化写入 Writer，不会生成中间的 String，也不会关闭 Writer
+     *
+     * @param object java 对象
+     * @param writer Writer
+     */
+    public void writeTo(Object object, Writer writer) throws IOException {
+        streamWriter(object).writeValue(writer, object);
+    }
+
+    /**
+     * java 对象直接序列化写入 ByteBuffer，从 position 开始写入并移动 position，空间不足时抛出 BufferOverflowException
+     *
+     * @param object java 对象
+     * @param buffer ByteBuffer
+     */
+    public void writeTo(Object object, ByteBuffer buffer) throws IOException {
+        writeTo(object, new ByteBufferBackedOutputStream(buffer));
+    }
+
+    /**
+     * 与 ObjectMapper.convertValue 相同的转换，但是使用缓存的 ObjectReader
+     * <p>
+     * 来源已经是 JsonNode 或 Jackson 封装对象时直接从树读取，不再序列化到 TokenBuffer
+     *
+     * @param value  来源对象
+     * @param reader 目标类型的 ObjectReader
+     * @return 转化后对象
+     */
+    <T> T convert(Object value, ObjectReader reader) {
+        // 与 convertValue 一样不处理 root 的包装，特性未开启时 without 返回的是同一个对象
+        reader = reader.without(DeserializationFeature.UNWRAP_ROOT_VALUE);
+
+        if (value instanceof JacksonObject) {
+            value = ((JacksonObject) value).getObjectNode();
+        } else if (value instanceof JacksonArray) {
+            value = ((JacksonArray) value).getArrayNode();
+        }
+
+        try {
+            if (value == null || value instanceof JsonNode) {
+                JsonNode node = (JsonNode) value;
+                if (node == null || node.isMissingNode()) {
+                    node = NullNode.getInstance();
+                }
+                return reader.readValue(node);
+            }
+
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+                buffer = buffer.forceUseOfBigDecimal(true);
+            }
+            writer(value).without(SerializationFeature.WRAP_ROOT_VALUE).writeValue(buffer, value);
+            try (JsonParser parser = buffer.asParser()) {
+                return reader.readValue(parser);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
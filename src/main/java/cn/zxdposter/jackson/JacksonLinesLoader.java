@@ -0,0 +1,199 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * 并行解析 NDJSON（JSON Lines）
+ * <p>
+ * 输入按换行切分成若干分块，每个分块在线程池中独立解析，调用方线程按分块取回结果交给 Consumer，
+ * 因此 Consumer 不需要线程安全。同时执行的分块数量有上限，内存占用不会随输入大小增长。
+ * 有序模式按输入顺序交付，无序模式哪个分块先解析完先交付
+ *
+ * @author zxd
+ */
+final class JacksonLinesLoader<T> {
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_CHUNK_SIZE = 16 << 20;
+    private static final int BOUNDARY_BUFFER_SIZE = 8 << 10;
+
+    /**
+     * 查找分块边界，返回 position 之后第一个换行的下一个位置
+     */
+    private interface Boundary {
+        long next(long position) throws IOException;
+    }
+
+    /**
+     * 解析 [start, end) 之间的内容
+     */
+    private interface ChunkParser<T> {
+        List<T> parse(long start, long end) throws IOException;
+    }
+
+    private final JsonFactory factory;
+    private final ObjectReader reader;
+    private final Executor executor;
+    private final int parallelism;
+
+    JacksonLinesLoader(JacksonContext context, Class<T> type, Executor executor) {
+        this.factory = context.getObjectMapper().getFactory();
+        this.reader = context.reader(type);
+        this.executor = executor;
+        this.parallelism = executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+    }
+
+    void load(byte[] bytes, boolean ordered, Consumer<? super T> consumer) throws IOException {
+        long[] bounds = split(bytes.length, position -> {
+            int i = (int) position;
+            while (i < bytes.length && bytes[i] != '\n') {
+                i++;
+            }
+            return Math.min(i + 1, bytes.length);
+        });
+        run(bounds, (start, end) -> parse(bytes, (int) start, (int) (end - start)), ordered, consumer);
+    }
+
+    void load(Path path, boolean ordered, Consumer<? super T> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = split(size, position -> nextLine(channel, position, size));
+            run(bounds, (start, end) -> {
+                byte[] bytes = new byte[(int) (end - start)];
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                // FileChannel 按位置读取可以多个线程同时进行
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        throw new EOFException(path.toString());
+                    }
+                }
+                return parse(bytes, 0, bytes.length);
+            }, ordered, consumer);
+        }
+    }
+
+    private static long nextLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 按分块大小切分，边界向后移动到换行之后，保证每一行完整地落在一个分块中
+     */
+    private long[] split(long size, Boundary boundary) throws IOException {
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (parallelism * 4L)));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long position = 0;
+        while (position < size) {
+            position = position + chunkSize >= size ? size : boundary.next(position + chunkSize);
+            bounds.add(position);
+        }
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private List<T> parse(byte[] bytes, int offset, int len) throws IOException {
+        // 自己创建的 JsonParser 不会把数组展开
+        try (MappingIterator<T> iterator = reader.readValues(factory.createParser(bytes, offset, len))) {
+            return iterator.readAll();
+        }
+    }
+
+    private void run(long[] bounds, ChunkParser<T> parser, boolean ordered, Consumer<? super T> consumer)
+            throws IOException {
+        int chunks = bounds.length - 1;
+        int window = parallelism * 2;
+        Deque<CompletableFuture<List<T>>> pending = new ArrayDeque<>();
+        BlockingQueue<CompletableFuture<List<T>>> completed = new LinkedBlockingQueue<>();
+
+        int submitted = 0;
+        for (int delivered = 0; delivered < chunks; delivered++) {
+            while (submitted < chunks && submitted - delivered < window) {
+                long start = bounds[submitted];
+                long end = bounds[++submitted];
+                CompletableFuture<List<T>> future = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return parser.parse(start, end);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+                if (ordered) {
+                    pending.add(future);
+                } else {
+                    future.whenComplete((values, e) -> completed.add(future));
+                }
+            }
+
+            CompletableFuture<List<T>> next;
+            if (ordered) {
+                next = pending.poll();
+            } else {
+                try {
+                    next = completed.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            join(next).forEach(consumer);
+        }
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * NDJSON（JSON Lines）写入，每个对象写成一行
+ * <p>
+ * 所有记录共用同一个 JsonGenerator 和它的缓冲区，直接编码写入输出流，不会为每条记录生成 String 或 byte 数组。
+ * 不是线程安全的；关闭时是否关闭输出流取决于 ObjectMapper 的 AUTO_CLOSE_TARGET 配置
+ *
+ * @author zxd
+ */
+public class JacksonLinesWriter implements Closeable, Flushable {
+
+    private final JacksonContext context;
+
+    private final JsonGenerator generator;
+
+    /**
+     * 去掉格式化输出和每次写入后 flush 的 ObjectWriter，按类型缓存
+     */
+    private final Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+
+    JacksonLinesWriter(JacksonContext context, OutputStream out) throws IOException {
+        this.context = context;
+        this.generator = context.getObjectMapper().getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // 记录之间只使用换行分隔，不需要默认的空格
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * 写入一行，可以是 JacksonObject、JacksonArray、POJO 或者 null
+     *
+     * @param value 任意值
+     * @return 自身 JacksonLinesWriter
+     */
+    public JacksonLinesWriter write(Object value) throws IOException {
+        Class<?> type = value == null ? null : value.getClass();
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            // 属性用于通知 JacksonObjectSerializer 不要原样输出包含换行的原始字节
+            writer = context.writer(value)
+                    .without(SerializationFeature.INDENT_OUTPUT)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withAttribute(JacksonLinesWriter.class, Boolean.TRUE);
+            writers.put(type, writer);
+        }
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+        return this;
+    }
+
+    /**
+     * 写入所有元素，每个元素一行
+     *
+     * @param values 元素
+     * @return 自身 JacksonLinesWriter
+     */
+    public JacksonLinesWriter writeAll(Iterable<?> values) throws IOException {
+        for (Object value : values) {
+            write(value);
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,23 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * 注册 JacksonObject、JacksonArray 的序列化与反序列化器
+ * <p>
+ * {@link Jackson#setObjectMapper(com.fasterxml.jackson.databind.ObjectMapper)} 时会自动注册，
+ * spring 项目中也可以直接声明为 bean，交给 Jackson2ObjectMapperBuilder 注册
+ *
+ * @author zxd
+ */
+public class JacksonModule extends SimpleModule {
+
+    public JacksonModule() {
+        super(JacksonModule.class.getSimpleName(), Version.unknownVersion());
+        addDeserializer(JacksonObject.class, new JacksonObjectDeserializer());
+        addDeserializer(JacksonArray.class, new JacksonArrayDeserializer());
+        addSerializer(JacksonObject.class, new JacksonObjectSerializer());
+        addSerializer(JacksonArray.class, new JacksonArraySerializer());
+    }
+}
@@ -0,0 +1,434 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * JsonNode 与 java 基础类型之间的快速转换
+ * <p>
+ * JsonNode 转基础类型时，数字、字符串、boolean、null 以及不存在的 key 直接转换，不经过 convert 的 TokenBuffer 流程。
+ * 直接转换遵循 ObjectMapper 的配置：开启 FAIL_ON_NULL_FOR_PRIMITIVES 时 null 不返回默认值，
+ * 关闭 ALLOW_COERCION_OF_SCALARS 时字符串、boolean 不转换成数字，这些情况以及其它情况（比如不合法的字符串、数字溢出、对象、数组）
+ * 仍然交给 convert，保持 jackson 原本的报错。不存在的 key 或下标总是返回默认值。
+ * 与 jackson 不同的是 boolean 转数字时 true 为 1，false 为 0，符合 fastjson 的使用习惯
+ * <p>
+ * java 对象转 JsonNode 时，常用的 jdk 类型直接创建对应的节点（同样遵循 USE_LONG_FOR_INTS 等数字相关的特性），JsonNode 以及封装对象直接使用原节点，
+ * 只有 POJO 等其它类型才使用 valueToTree；放入自身或者包含自身的节点时复制，避免形成环
+ *
+ * @author zxd
+ */
+final class JacksonNodes {
+
+    private JacksonNodes() {
+    }
+
+    /**
+     * java 对象转化成 JsonNode，结果与 valueToTree 相同
+     * <p>
+     * JsonNode 以及 JacksonObject、JacksonArray 直接使用原来的节点，不会复制，之后修改原对象会同时影响到放入的位置
+     *
+     * @param value   java 对象，可以为 null
+     * @param context 上下文
+     * @return JsonNode
+     */
+    static JsonNode toNode(Object value, JacksonContext context) {
+        ObjectMapper objectMapper = context.getObjectMapper();
+        JsonNodeFactory factory = objectMapper.getNodeFactory();
+
+        if (value == null) {
+            return factory.nullNode();
+        }
+        if (value instanceof String) {
+            return factory.textNode((String) value);
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return intNode(((Number) value).intValue(), context);
+        }
+        if (value instanceof Long) {
+            return longNode((Long) value, context);
+        }
+        if (value instanceof Boolean) {
+            return factory.booleanNode((Boolean) value);
+        }
+        if (value instanceof JsonNode) {
+            return (JsonNode) value;
+        }
+        if (value instanceof JacksonObject) {
+            return ((JacksonObject) value).getObjectNode();
+        }
+        if (value instanceof JacksonArray) {
+            return ((JacksonArray) value).getArrayNode();
+        }
+        if (value instanceof BigDecimal) {
+            return factory.numberNode((BigDecimal) value);
+        }
+        if (value instanceof BigInteger) {
+            return factory.numberNode((BigInteger) value);
+        }
+        if (value instanceof byte[]) {
+            return factory.binaryNode((byte[]) value);
+        }
+        if (value instanceof Double) {
+            return doubleNode((Double) value, context);
+        }
+        if (value instanceof Float) {
+            return floatNode((Float) value, context);
+        }
+        return objectMapper.valueToTree(value);
+    }
+
+    /**
+     * java 对象转化成 JsonNode 后放入 container，规则与 {@link #toNode(Object, JacksonContext)} 相同
+     * <p>
+     * 值是 container 自身或者包含 container 时（比如 arr.add(arr)、obj.put("k", obj)）直接放入会形成环，
+     * 序列化时栈溢出，这种情况放入深度复制的节点。检查需要遍历值的子树，但不会复制
+     *
+     * @param value     java 对象，可以为 null
+     * @param container 将要放入的 ObjectNode 或 ArrayNode
+     * @param context   上下文
+     * @return JsonNode
+     */
+    static JsonNode toNode(Object value, JsonNode container, JacksonContext context) {
+        JsonNode node = toNode(value, context);
+        if (node.isContainerNode() && contains(node, container)) {
+            return node.deepCopy();
+        }
+        return node;
+    }
+
+    /**
+     * tree 的子树中是否有 target 这个节点，按引用判断
+     */
+    private static boolean contains(JsonNode tree, JsonNode target) {
+        if (tree == target) {
+            return true;
+        }
+        for (JsonNode child : tree) {
+            if (child.isContainerNode() && contains(child, target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * int 转 JsonNode，与 valueToTree 一样遵循 USE_BIG_INTEGER_FOR_INTS、USE_LONG_FOR_INTS
+     */
+    static JsonNode intNode(int value, JacksonContext context) {
+        ObjectMapper objectMapper = context.getObjectMapper();
+        if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)) {
+            return objectMapper.getNodeFactory().numberNode(BigInteger.valueOf(value));
+        }
+        if (objectMapper.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS)) {
+            return objectMapper.getNodeFactory().numberNode((long) value);
+        }
+        return objectMapper.getNodeFactory().numberNode(value);
+    }
+
+    /**
+     * long 转 JsonNode，与 valueToTree 一样遵循 USE_BIG_INTEGER_FOR_INTS
+     */
+    static JsonNode longNode(long value, JacksonContext context) {
+        ObjectMapper objectMapper = context.getObjectMapper();
+        if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)) {
+            return objectMapper.getNodeFactory().numberNode(BigInteger.valueOf(value));
+        }
+        return objectMapper.getNodeFactory().numberNode(value);
+    }
+
+    /**
+     * float 转 JsonNode，与 valueToTree 一样遵循 USE_BIG_DECIMAL_FOR_FLOATS
+     */
+    static JsonNode floatNode(float value, JacksonContext context) {
+        ObjectMapper objectMapper = context.getObjectMapper();
+        if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            return doubleNode(value, context);
+        }
+        return objectMapper.getNodeFactory().numberNode(value);
+    }
+
+    /**
+     * double 转 JsonNode，与 valueToTree 一样遵循 USE_BIG_DECIMAL_FOR_FLOATS，NaN 与无穷大仍然使用 DoubleNode
+     */
+    static JsonNode doubleNode(double value, JacksonContext context) {
+        ObjectMapper objectMapper = context.getObjectMapper();
+        if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                && !Double.isNaN(value) && !Double.isInfinite(value)) {
+            return objectMapper.getNodeFactory().numberNode(BigDecimal.valueOf(value));
+        }
+        return objectMapper.getNodeFactory().numberNode(value);
+    }
+
+    /**
+     * null 以及空字符串返回基础类型的默认值，对应关闭 FAIL_ON_NULL_FOR_PRIMITIVES
+     */
+    static final int NULL_AS_DEFAULT = 1;
+
+    /**
+     * 字符串、boolean 与数字之间直接转换，对应开启 ALLOW_COERCION_OF_SCALARS
+     */
+    static final int COERCE_SCALARS = 2;
+
+    /**
+     * 读取上下文 ObjectMapper 中与基础类型转换相关的配置，批量转换时只需要读取一次
+     *
+     * @param context 上下文
+     * @return NULL_AS_DEFAULT、COERCE_SCALARS 的组合
+     */
+    static int coercion(JacksonContext context) {
+        ObjectMapper objectMapper = context.getObjectMapper();
+        int coercion = 0;
+        if (!objectMapper.isEnabled(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)) {
+            coercion |= NULL_AS_DEFAULT;
+        }
+        if (objectMapper.isEnabled(MapperFeature.ALLOW_COERCION_OF_SCALARS)) {
+            coercion |= COERCE_SCALARS;
+        }
+        return coercion;
+    }
+
+    /**
+     * 不存在的 key 或下标，返回基础类型的默认值
+     */
+    private static boolean isMissing(JsonNode value) {
+        return value == null || value.isMissingNode();
+    }
+
+    /**
+     * NullNode 是否返回默认值
+     */
+    private static boolean isNullAsDefault(JsonNode value, int coercion) {
+        return value.isNull() && (coercion & NULL_AS_DEFAULT) != 0;
+    }
+
+    /**
+     * 是否直接转换字符串和 boolean
+     */
+    private static boolean isCoerceScalars(int coercion) {
+        return (coercion & COERCE_SCALARS) != 0;
+    }
+
+    /**
+     * 字符串是否当作 null 处理，与 jackson 对基础类型的处理一致
+     */
+    private static boolean isBlankText(String text) {
+        return text.isEmpty() || "null".equals(text);
+    }
+
+    static boolean booleanValue(JsonNode value, JacksonContext context) {
+        return booleanValue(value, context, coercion(context));
+    }
+
+    static boolean booleanValue(JsonNode value, JacksonContext context, int coercion) {
+        if (isMissing(value)) {
+            return false;
+        }
+        if (value.isBoolean()) {
+            return value.booleanValue();
+        }
+        if (isNullAsDefault(value, coercion)) {
+            return false;
+        }
+        if (isCoerceScalars(coercion)) {
+            if (value.isIntegralNumber() && value.canConvertToLong()) {
+                return value.longValue() != 0;
+            }
+            if (value.isTextual()) {
+                String text = value.textValue().trim();
+                if ("true".equals(text)) {
+                    return true;
+                }
+                if ("false".equals(text) || (isBlankText(text) && (coercion & NULL_AS_DEFAULT) != 0)) {
+                    return false;
+                }
+            }
+        }
+        return context.convert(value, boolean.class);
+    }
+
+    static short shortValue(JsonNode value, JacksonContext context) {
+        return shortValue(value, context, coercion(context));
+    }
+
+    static short shortValue(JsonNode value, JacksonContext context, int coercion) {
+        if (isMissing(value)) {
+            return 0;
+        }
+        if (value.isNumber() && value.canConvertToInt()) {
+            return value.shortValue();
+        }
+        if (isNullAsDefault(value, coercion)) {
+            return 0;
+        }
+        if (isCoerceScalars(coercion)) {
+            if (value.isBoolean()) {
+                return (short) (value.booleanValue() ? 1 : 0);
+            }
+            if (value.isTextual()) {
+                String text = value.textValue().trim();
+                if (isBlankText(text)) {
+                    if ((coercion & NULL_AS_DEFAULT) != 0) {
+                        return 0;
+                    }
+                } else {
+                    try {
+                        return Short.parseShort(text);
+                    } catch (NumberFormatException ignored) {
+                        // 交给 convert 报错
+                    }
+                }
+            }
+        }
+        return context.convert(value, short.class);
+    }
+
+    static int intValue(JsonNode value, JacksonContext context) {
+        return intValue(value, context, coercion(context));
+    }
+
+    static int intValue(JsonNode value, JacksonContext context, int coercion) {
+        if (isMissing(value)) {
+            return 0;
+        }
+        if (value.isNumber() && value.canConvertToInt()) {
+            return value.intValue();
+        }
+        if (isNullAsDefault(value, coercion)) {
+            return 0;
+        }
+        if (isCoerceScalars(coercion)) {
+            if (value.isBoolean()) {
+                return value.booleanValue() ? 1 : 0;
+            }
+            if (value.isTextual()) {
+                String text = value.textValue().trim();
+                if (isBlankText(text)) {
+                    if ((coercion & NULL_AS_DEFAULT) != 0) {
+                        return 0;
+                    }
+                } else {
+                    try {
+                        return Integer.parseInt(text);
+                    } catch (NumberFormatException ignored) {
+                        // 交给 convert 报错
+                    }
+                }
+            }
+        }
+        return context.convert(value, int.class);
+    }
+
+    static long longValue(JsonNode value, JacksonContext context) {
+        return longValue(value, context, coercion(context));
+    }
+
+    static long longValue(JsonNode value, JacksonContext context, int coercion) {
+        if (isMissing(value)) {
+            return 0L;
+        }
+        if (value.isNumber() && value.canConvertToLong()) {
+            return value.longValue();
+        }
+        if (isNullAsDefault(value, coercion)) {
+            return 0L;
+        }
+        if (isCoerceScalars(coercion)) {
+            if (value.isBoolean()) {
+                return value.booleanValue() ? 1L : 0L;
+            }
+            if (value.isTextual()) {
+                String text = value.textValue().trim();
+                if (isBlankText(text)) {
+                    if ((coercion & NULL_AS_DEFAULT) != 0) {
+                        return 0L;
+                    }
+                } else {
+                    try {
+                        return Long.parseLong(text);
+                    } catch (NumberFormatException ignored) {
+                        // 交给 convert 报错
+                    }
+                }
+            }
+        }
+        return context.convert(value, long.class);
+    }
+
+    static float floatValue(JsonNode value, JacksonContext context) {
+        return floatValue(value, context, coercion(context));
+    }
+
+    static float floatValue(JsonNode value, JacksonContext context, int coercion) {
+        if (isMissing(value)) {
+            return 0F;
+        }
+        if (value.isNumber()) {
+            return value.floatValue();
+        }
+        if (isNullAsDefault(value, coercion)) {
+            return 0F;
+        }
+        if (isCoerceScalars(coercion)) {
+            if (value.isBoolean()) {
+                return value.booleanValue() ? 1F : 0F;
+            }
+            if (value.isTextual()) {
+                String text = value.textValue().trim();
+                if (isBlankText(text)) {
+                    if ((coercion & NULL_AS_DEFAULT) != 0) {
+                        return 0F;
+                    }
+                } else {
+                    try {
+                        return Float.parseFloat(text);
+                    } catch (NumberFormatException ignored) {
+                        // 交给 convert 报错
+                    }
+                }
+            }
+        }
+        return context.convert(value, float.class);
+    }
+
+    static double doubleValue(JsonNode value, JacksonContext context) {
+        return doubleValue(value, context, coercion(context));
+    }
+
+    static double doubleValue(JsonNode value, JacksonContext context, int coercion) {
+        if (isMissing(value)) {
+            return 0D;
+        }
+        if (value.isNumber()) {
+            return value.doubleValue();
+        }
+        if (isNullAsDefault(value, coercion)) {
+            return 0D;
+        }
+        if (isCoerceScalars(coercion)) {
+            if (value.isBoolean()) {
+                return value.booleanValue() ? 1D : 0D;
+            }
+            if (value.isTextual()) {
+                String text = value.textValue().trim();
+                if (isBlankText(text)) {
+                    if ((coercion & NULL_AS_DEFAULT) != 0) {
+                        return 0D;
+                    }
+                } else {
+                    try {
+                        return Double.parseDouble(text);
+                    } catch (NumberFormatException ignored) {
+                        // 交给 convert 报错
+                    }
+                }
+            }
+        }
+        return context.convert(value, double.class);
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -11,8 +13,10 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -20,6 +24,10 @@ import java.util.function.Function;
  * 封装 ObjectNode 的一些操作，贴近 fastjson 的写法
  * <p>
  * 使用了 jackson 的指定序列化反序列化函数，使用起来更贴近一个正常的对象，符合 fastjson 的操作习惯
+ * <p>
+ * 通过 {@link Jackson#parseObjectLazily(byte[])} 创建的对象只持有原始字节，第一次调用 toJsonString、writeTo 以外的方法时才解析，
+ * 解析后丢弃原始字节；未解析时序列化直接输出原始字节（格式化输出除外）。
+ * 多个线程同时第一次访问时每个线程可能各自解析一次，但都能读到完整的结果；与普通对象一样，修改不是线程安全的
  *
  * @author zxd
  */
@@ -28,27 +36,65 @@ public class JacksonObject extends Jackson {
     /**
      * 被封装的 ObjectNode
      */
-    private final ObjectNode objectNode;
+    private ObjectNode objectNode;
+
+    /**
+     * 延迟解析时持有的原始字节，解析后为 null。先写 objectNode 再写这里，读到 null 时一定能读到 objectNode
+     */
+    private volatile RawJson raw;
+
+    public ObjectNode getObjectNode() {
+        return node();
+    }
+
+    /**
+     * 获取被封装的 ObjectNode，延迟解析时在这里解析
+     */
+    private ObjectNode node() {
+        ObjectNode node = objectNode;
+        if (node == null) {
+            RawJson raw = this.raw;
+            if (raw == null) {
+                // 其它线程已经解析完成
+                return objectNode;
+            }
+            node = context().readObjectNode(raw.getBytes());
+            objectNode = node;
+            this.raw = null;
+        }
+        return node;
+    }
+
+    /**
+     * 未解析时的原始字节，已经解析返回 null
+     */
+    RawJson rawJson() {
+        return raw;
+    }
 
     /**
      * 序列化指定函数
+     * <p>
+     * 注册了 {@link JacksonModule} 时会使用 {@link JacksonObjectSerializer}，这里只作为未注册时的兜底
      *
      * @return 序列化结果
      */
     @JsonValue
     private ObjectNode serialization() {
-        return objectNode;
+        return node();
     }
 
     /**
      * 反序列化指定函数
+     * <p>
+     * 注册了 {@link JacksonModule} 时会使用 {@link JacksonObjectDeserializer}，这里只作为未注册时的兜底
      *
      * @param value 反序列化数据来源
      * @return 封装的 JacksonObject 对象
      */
     @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
     private static JacksonObject deserialization(Map<String, Object> value) {
-        ObjectNode objectNode = OBJECT_MAPPER.valueToTree(value);
+        ObjectNode objectNode = getObjectMapper().valueToTree(value);
         return new JacksonObject(objectNode);
     }
 
@@ -58,14 +104,36 @@ public class JacksonObject extends Jackson {
      * @param objectNode 被封装对象
      */
     public JacksonObject(ObjectNode objectNode) {
+        this(objectNode, null);
+    }
+
+    /**
+     * 提供 ObjectNode 封装，并绑定上下文
+     *
+     * @param objectNode 被封装对象
+     * @param context    上下文，为 null 时使用默认上下文
+     */
+    JacksonObject(ObjectNode objectNode, JacksonContext context) {
+        super(context);
         this.objectNode = objectNode;
     }
 
     /**
-     * 使用继承来自于 Jackson 的 OBJECT_MAPPER 创建 ObjectNode
+     * 延迟解析的 JacksonObject
+     *
+     * @param raw     原始字节
+     * @param context 上下文，为 null 时使用默认上下文
+     */
+    JacksonObject(RawJson raw, JacksonContext context) {
+        super(context);
+        this.raw = raw;
+    }
+
+    /**
+     * 使用继承来自于 Jackson 的共用 ObjectMapper 创建 ObjectNode
      */
     public JacksonObject() {
-        this.objectNode = OBJECT_MAPPER.createObjectNode();
+        this.objectNode = getObjectMapper().createObjectNode();
     }
 
     /**
@@ -74,7 +142,7 @@ public class JacksonObject extends Jackson {
      * @return true or false
      */
     public boolean isEmpty() {
-        return objectNode.isEmpty();
+        return node().isEmpty();
     }
 
     /**
@@ -83,7 +151,7 @@ public class JacksonObject extends Jackson {
      * @return true or false
      */
     public int size() {
-        return objectNode.size();
+        return node().size();
     }
 
     /**
@@ -93,7 +161,7 @@ public class JacksonObject extends Jackson {
      * @return true or false
      */
     public boolean contains(String key) {
-        return objectNode.has(key);
+        return node().has(key);
     }
 
     /**
@@ -105,13 +173,13 @@ public class JacksonObject extends Jackson {
      * @return 封装的 JacksonObject
      */
     public JacksonObject getJacksonObject(String key) {
-        JsonNode value = objectNode.get(key);
+        JsonNode value = node().get(key);
 
         if (value.isObject()) {
-            return new JacksonObject((ObjectNode) value);
+            return new JacksonObject((ObjectNode) value, context);
         }
 
-        return new JacksonObject(OBJECT_MAPPER.valueToTree(value.asText()));
+        return new JacksonObject(context().getObjectMapper().valueToTree(value.asText()), context);
     }
 
     /**
@@ -123,13 +191,13 @@ public class JacksonObject extends Jackson {
      * @return 封装的 JacksonArray
      */
     public JacksonArray getJacksonArray(String key) {
-        JsonNode value = objectNode.get(key);
+        JsonNode value = node().get(key);
 
         if (value.isArray()) {
-            return new JacksonArray((ArrayNode) value);
+            return new JacksonArray((ArrayNode) value, context);
         }
 
-        return new JacksonArray(OBJECT_MAPPER.valueToTree(value.asText()));
+        return new JacksonArray(context().getObjectMapper().valueToTree(value.asText()), context);
     }
 
     /**
@@ -139,9 +207,9 @@ public class JacksonObject extends Jackson {
      * @return value
      */
     public Object getObject(String key) {
-        JsonNode jsonNode = objectNode.get(key);
+        JsonNode jsonNode = node().get(key);
 
-        return OBJECT_MAPPER.convertValue(jsonNode, Object.class);
+        return context().convert(jsonNode, Object.class);
     }
 
     /**
@@ -154,7 +222,7 @@ public class JacksonObject extends Jackson {
      * @return JsonNode
      */
     public JsonNode getNode(String key) {
-        return objectNode.get(key);
+        return node().get(key);
     }
 
     /**
@@ -164,15 +232,15 @@ public class JacksonObject extends Jackson {
      * @return java 对象
      */
     public <T> T getObject(String key, Class<T> clazz) {
-        JsonNode jsonNode = objectNode.get(key);
+        JsonNode jsonNode = node().get(key);
 
-        return OBJECT_MAPPER.convertValue(jsonNode, clazz);
+        return context().convert(jsonNode, clazz);
     }
 
     public <T> T getJavaObject(String key) {
-        JsonNode jsonNode = objectNode.get(key);
+        JsonNode jsonNode = node().get(key);
 
-        return OBJECT_MAPPER.convertValue(jsonNode, new TypeReference<T>() {
+        return context().convert(jsonNode, new TypeReference<T>() {
         });
     }
 
@@ -184,9 +252,9 @@ public class JacksonObject extends Jackson {
      * @return java 对象
      */
     public <T> T getObject(String key, TypeReference<T> typeReference) {
-        JsonNode jsonNode = objectNode.get(key);
+        JsonNode jsonNode = node().get(key);
 
-        return OBJECT_MAPPER.convertValue(jsonNode, typeReference);
+        return context().convert(jsonNode, typeReference);
     }
 
     /**
@@ -198,13 +266,7 @@ public class JacksonObject extends Jackson {
      * @return boolean
      */
     public boolean getBoolean(String key) {
-        JsonNode value = objectNode.get(key);
-
-        if (value.isBoolean()) {
-            return value.asBoolean();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, boolean.class);
+        return JacksonNodes.booleanValue(node().get(key), context());
     }
 
     /**
@@ -214,7 +276,7 @@ public class JacksonObject extends Jackson {
      * @return byte 数组
      */
     public byte[] getBytes(String key) throws IOException {
-        JsonNode value = objectNode.get(key);
+        JsonNode value = node().get(key);
 
         if (value.isBinary()) {
             return value.binaryValue();
@@ -230,13 +292,7 @@ public class JacksonObject extends Jackson {
      * @return short
      */
     public short shortValue(String key) {
-        JsonNode value = objectNode.get(key);
-
-        if (value.canConvertToInt()) {
-            return value.shortValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, short.class);
+        return JacksonNodes.shortValue(node().get(key), context());
     }
 
     /**
@@ -246,13 +302,7 @@ public class JacksonObject extends Jackson {
      * @return int
      */
     public int intValue(String key) {
-        JsonNode value = objectNode.get(key);
-
-        if (value.canConvertToInt()) {
-            return value.intValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, int.class);
+        return JacksonNodes.intValue(node().get(key), context());
     }
 
     /**
@@ -262,13 +312,7 @@ public class JacksonObject extends Jackson {
      * @return long
      */
     public long longValue(String key) {
-        JsonNode value = objectNode.get(key);
-
-        if (value.canConvertToLong()) {
-            return value.longValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, long.class);
+        return JacksonNodes.longValue(node().get(key), context());
     }
 
     /**
@@ -278,13 +322,7 @@ public class JacksonObject extends Jackson {
      * @return float
      */
     public float floatValue(String key) {
-        JsonNode value = objectNode.get(key);
-
-        if (value.isFloatingPointNumber()) {
-            return value.floatValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, float.class);
+        return JacksonNodes.floatValue(node().get(key), context());
     }
 
     /**
@@ -294,13 +332,7 @@ public class JacksonObject extends Jackson {
      * @return double
      */
     public double doubleValue(String key) {
-        JsonNode value = objectNode.get(key);
-
-        if (value.canConvertToInt()) {
-            return value.doubleValue();
-        }
-
-        return OBJECT_MAPPER.convertValue(value, double.class);
+        return JacksonNodes.doubleValue(node().get(key), context());
     }
 
     /**
@@ -310,13 +342,13 @@ public class JacksonObject extends Jackson {
      * @return BigDecimal
      */
     public BigDecimal getBigDecimal(String key) {
-        JsonNode value = objectNode.get(key);
+        JsonNode value = node().get(key);
 
         if (value.isBigDecimal()) {
             return value.decimalValue();
         }
 
-        return OBJECT_MAPPER.convertValue(value, BigDecimal.class);
+        return context().convert(value, BigDecimal.class);
     }
 
     /**
@@ -326,13 +358,13 @@ public class JacksonObject extends Jackson {
      * @return BigInteger
      */
     public BigInteger getBigInteger(String key) {
-        JsonNode value = objectNode.get(key);
+        JsonNode value = node().get(key);
 
         if (value.canConvertToInt()) {
             return value.bigIntegerValue();
         }
 
-        return OBJECT_MAPPER.convertValue(value, BigInteger.class);
+        return context().convert(value, BigInteger.class);
     }
 
     /**
@@ -345,8 +377,8 @@ public class JacksonObject extends Jackson {
      * @return string
      */
     public String getString(String key) {
-        if (objectNode.has(key)) {
-            return objectNode.get(key).asText();
+        if (node().has(key)) {
+            return node().get(key).asText();
         }
         return null;
     }
@@ -360,20 +392,168 @@ public class JacksonObject extends Jackson {
      * @return LocalDateTime
      */
     public LocalDateTime getDateTime(String key) {
-        JsonNode value = objectNode.get(key);
+        JsonNode value = node().get(key);
+
+        return context().convert(value, LocalDateTime.class);
+    }
+
+    /**
+     * 通过路径获取 JsonNode，直接从 ObjectNode 逐层查找，不会创建中间的 JacksonObject
+     *
+     * @param path 路径，见 {@link JsonPath}
+     * @return JsonNode，不存在返回 null
+     */
+    public JsonNode getNode(JsonPath path) {
+        return path.find(node());
+    }
+
+    /**
+     * 通过路径获取 string，不存在返回 null
+     *
+     * @param path 路径
+     * @return string
+     */
+    public String getString(JsonPath path) {
+        JsonNode value = path.find(node());
+        return value == null ? null : value.asText();
+    }
+
+    /**
+     * 通过路径获取 boolean，会经过类型转换，不存在返回 false
+     *
+     * @param path 路径
+     * @return boolean
+     */
+    public boolean getBoolean(JsonPath path) {
+        return JacksonNodes.booleanValue(path.find(node()), context());
+    }
+
+    /**
+     * 通过路径获取 int，会经过类型转换，不存在返回 0
+     *
+     * @param path 路径
+     * @return int
+     */
+    public int intValue(JsonPath path) {
+        return JacksonNodes.intValue(path.find(node()), context());
+    }
+
+    /**
+     * 通过路径获取 long，会经过类型转换，不存在返回 0
+     *
+     * @param path 路径
+     * @return long
+     */
+    public long longValue(JsonPath path) {
+        return JacksonNodes.longValue(path.find(node()), context());
+    }
+
+    /**
+     * 通过路径获取 double，会经过类型转换，不存在返回 0.0
+     *
+     * @param path 路径
+     * @return double
+     */
+    public double doubleValue(JsonPath path) {
+        return JacksonNodes.doubleValue(path.find(node()), context());
+    }
 
-        return OBJECT_MAPPER.convertValue(value, LocalDateTime.class);
+    /**
+     * 通过路径获取 java 对象
+     *
+     * @param path  路径
+     * @param clazz 类型
+     * @return java 对象
+     */
+    public <T> T getObject(JsonPath path, Class<T> clazz) {
+        return context().convert(path.find(node()), clazz);
     }
 
     /**
      * 添加键值对，值可以 null
+     * <p>
+     * JacksonObject、JacksonArray、JsonNode 直接放入原来的节点，不会复制，需要隔离时先调用 {@link #deepCopy()}；
+     * 放入自身或者包含自身的节点时会自动复制，避免形成环
      *
      * @param key   key
      * @param value 任意值
      * @return 自身 JacksonObject
      */
     public JacksonObject put(String key, Object value) {
-        objectNode.replace(key, OBJECT_MAPPER.valueToTree(value));
+        ObjectNode objectNode = node();
+        objectNode.replace(key, JacksonNodes.toNode(value, objectNode, context()));
+        return this;
+    }
+
+    /**
+     * 添加 int 键值对，不需要装箱
+     *
+     * @param key   key
+     * @param value 值
+     * @return 自身 JacksonObject
+     */
+    public JacksonObject put(String key, int value) {
+        node().set(key, JacksonNodes.intNode(value, context()));
+        return this;
+    }
+
+    /**
+     * 添加 long 键值对，不需要装箱
+     *
+     * @param key   key
+     * @param value 值
+     * @return 自身 JacksonObject
+     */
+    public JacksonObject put(String key, long value) {
+        node().set(key, JacksonNodes.longNode(value, context()));
+        return this;
+    }
+
+    /**
+     * 添加 float 键值对，不需要装箱
+     *
+     * @param key   key
+     * @param value 值
+     * @return 自身 JacksonObject
+     */
+    public JacksonObject put(String key, float value) {
+        node().set(key, JacksonNodes.floatNode(value, context()));
+        return this;
+    }
+
+    /**
+     * 添加 double 键值对，不需要装箱
+     *
+     * @param key   key
+     * @param value 值
+     * @return 自身 JacksonObject
+     */
+    public JacksonObject put(String key, double value) {
+        node().set(key, JacksonNodes.doubleNode(value, context()));
+        return this;
+    }
+
+    /**
+     * 添加 boolean 键值对，不需要装箱
+     *
+     * @param key   key
+     * @param value 值
+     * @return 自身 JacksonObject
+     */
+    public JacksonObject put(String key, boolean value) {
+        node().put(key, value);
+        return this;
+    }
+
+    /**
+     * 添加 char 键值对，与装箱后的 Character 一样作为字符串写入，避免被当作 int 写入
+     *
+     * @param key   key
+     * @param value 值
+     * @return 自身 JacksonObject
+     */
+    public JacksonObject put(String key, char value) {
+        node().put(key, String.valueOf(value));
         return this;
     }
 
@@ -385,7 +565,42 @@ public class JacksonObject extends Jackson {
      * @return 映射值
      */
     public <T> T map(String key, Function<Optional<JsonNode>, T> function) {
-        return function.apply(Optional.ofNullable(objectNode.get(key)));
+        return function.apply(Optional.ofNullable(node().get(key)));
+    }
+
+    /**
+     * 遍历值为对象的字段，其它类型的字段跳过
+     * <p>
+     * 所有字段共用同一个 JacksonObject，每次回调前重新绑定到当前字段，不会为每个字段创建封装对象。
+     * 回调结束后不能继续持有该 JacksonObject，需要保留时使用 getObjectNode 或者 deepCopy
+     *
+     * @param consumer 参数为 key 与封装的字段值
+     */
+    public void forEachObject(BiConsumer<String, JacksonObject> consumer) {
+        JacksonObject cursor = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = node().fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isObject()) {
+                if (cursor == null) {
+                    cursor = new JacksonObject((ObjectNode) value, context);
+                } else {
+                    cursor.rebind((ObjectNode) value);
+                }
+                consumer.accept(field.getKey(), cursor);
+            }
+        }
+    }
+
+    /**
+     * 重新绑定被封装的 ObjectNode，用于遍历时复用同一个 JacksonObject
+     */
+    void rebind(ObjectNode objectNode) {
+        this.objectNode = objectNode;
+        if (raw != null) {
+            raw = null;
+        }
     }
 
     /**
@@ -395,9 +610,40 @@ public class JacksonObject extends Jackson {
      * @param consumer 函数
      */
     public void ifPresent(String key, Consumer<JsonNode> consumer) {
-        if (objectNode.has(key)) {
-            consumer.accept(objectNode.get(key));
+        if (node().has(key)) {
+            consumer.accept(node().get(key));
+        }
+    }
+
+    /**
+     * 未解析时直接使用原始字节，不经过解析和序列化
+     *
+     * @return json string
+     */
+    @Override
+    public String toJsonString() throws IOException {
+        RawJson raw = this.raw;
+        if (raw != null) {
+            ObjectMapper objectMapper = context().getObjectMapper();
+            if (!objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                    && !objectMapper.isEnabled(SerializationFeature.WRAP_ROOT_VALUE)) {
+                return raw.getValue();
+            }
+        }
+        return super.toJsonString();
+    }
+
+    /**
+     * 深度复制，复制出来的对象与原对象互不影响
+     *
+     * @return 新的 JacksonObject
+     */
+    public JacksonObject deepCopy() {
+        RawJson raw = this.raw;
+        if (raw != null) {
+            return new JacksonObject(raw, context);
         }
+        return new JacksonObject(node().deepCopy(), context);
     }
 
     /**
@@ -407,7 +653,7 @@ public class JacksonObject extends Jackson {
      * @return 自身 JacksonObject
      */
     public JacksonObject remove(String key) {
-        objectNode.remove(key);
+        node().remove(key);
         return this;
     }
 }
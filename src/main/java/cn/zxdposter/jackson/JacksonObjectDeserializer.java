@@ -0,0 +1,38 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.JsonNodeDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+
+/**
+ * JacksonObject 反序列化器
+ * <p>
+ * 直接从 JsonParser 的 token 流构建 ObjectNode，不再经过 Map 中转再 valueToTree 的二次转换
+ *
+ * @author zxd
+ */
+public class JacksonObjectDeserializer extends StdDeserializer<JacksonObject> {
+
+    /**
+     * jackson 自带的 ObjectNode 反序列化器，与 readTree 使用的是同一个
+     */
+    private static final JsonDeserializer<? extends JsonNode> OBJECT_NODE_DESERIALIZER =
+            JsonNodeDeserializer.getDeserializer(ObjectNode.class);
+
+    public JacksonObjectDeserializer() {
+        super(JacksonObject.class);
+    }
+
+    @Override
+    public JacksonObject deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        ObjectNode node = (ObjectNode) OBJECT_NODE_DESERIALIZER.deserialize(p, ctxt);
+        // 通过 JacksonContext 读取时绑定该上下文，否则使用默认上下文
+        return new JacksonObject(node, (JacksonContext) ctxt.getAttribute(JacksonContext.class));
+    }
+}
@@ -0,0 +1,73 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * JacksonObject 序列化器
+ * <p>
+ * 直接把被封装的 ObjectNode 写入 JsonGenerator，不再经过 @JsonValue 的反射调用和二次查找序列化器
+ *
+ * @author zxd
+ */
+public class JacksonObjectSerializer extends StdSerializer<JacksonObject> {
+
+    public JacksonObjectSerializer() {
+        super(JacksonObject.class);
+    }
+
+    /**
+     * 还没有解析的 JacksonObject 直接检查原始字节，避免 NON_EMPTY 时为了判断是否为空而解析
+     */
+    @Override
+    public boolean isEmpty(SerializerProvider provider, JacksonObject value) {
+        RawJson raw = value.rawJson();
+        if (raw != null) {
+            return raw.isEmptyObject();
+        }
+        return value.isEmpty();
+    }
+
+    /**
+     * 延迟解析且还没有解析的 JacksonObject 直接输出原始字节，
+     * TokenBuffer、非 json 格式以及格式化输出的 JsonGenerator 不能原样输出，仍然解析后序列化。
+     * {@link JacksonLinesWriter} 写入时原始字节包含换行也需要解析，保证一条记录只占一行
+     */
+    @Override
+    public void serialize(JacksonObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        RawJson raw = value.rawJson();
+        if (raw != null && gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null
+                && !(raw.hasLineBreak() && provider.getAttribute(JacksonLinesWriter.class) != null)) {
+            gen.writeRawValue(raw);
+            return;
+        }
+        value.getObjectNode().serialize(gen, provider);
+    }
+
+    /**
+     * 带类型信息的序列化，类型 id 使用 JacksonObject 而不是内部的 ObjectNode，与 @JsonValue 的表现一致
+     */
+    @Override
+    public void serializeWithType(JacksonObject value, JsonGenerator gen, SerializerProvider provider,
+                                  TypeSerializer typeSer) throws IOException {
+        WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_OBJECT));
+        Iterator<Map.Entry<String, JsonNode>> fields = value.getObjectNode().fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            gen.writeFieldName(field.getKey());
+            ((JsonSerializable) field.getValue()).serialize(gen, provider);
+        }
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+}
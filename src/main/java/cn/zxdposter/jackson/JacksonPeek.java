@@ -0,0 +1,160 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 流式提取指定路径的值，不构建整个 ObjectNode
+ * <p>
+ * 路径使用 . 分隔，比如 "a.b.0.c"，数组使用数字下标。不需要的字段通过 skipChildren 跳过，
+ * 只有命中的值才会构建 JsonNode，所有路径都找到后立即停止解析。字段重复时使用第一次出现的值
+ *
+ * @author zxd
+ */
+final class JacksonPeek {
+
+    /**
+     * 路径前缀树的节点
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        /**
+         * 需要提取的完整路径，只是中间节点时为 null
+         */
+        private String path;
+        private boolean found;
+        /**
+         * 子节点中最大的数字下标，用于数组提前跳过
+         */
+        private int maxIndex = -1;
+
+        private Node child(String segment) {
+            Node child = children.get(segment);
+            if (child == null) {
+                child = new Node();
+                children.put(segment, child);
+                if (isIndex(segment)) {
+                    maxIndex = Math.max(maxIndex, Integer.parseInt(segment));
+                }
+            }
+            return child;
+        }
+    }
+
+    private final ObjectReader reader;
+    private final ObjectNode result;
+    private final Node root = new Node();
+    private int remaining;
+
+    /**
+     * @param reader 读取命中值的 ObjectReader，需要关闭 FAIL_ON_TRAILING_TOKENS
+     * @param result 存放结果，key 为路径
+     * @param paths  需要提取的路径
+     */
+    JacksonPeek(ObjectReader reader, ObjectNode result, String... paths) {
+        this.reader = reader;
+        this.result = result;
+        for (String path : paths) {
+            Node node = root;
+            for (String segment : path.split("\\.", -1)) {
+                node = node.child(segment);
+            }
+            if (node.path == null) {
+                node.path = path;
+                remaining++;
+            }
+        }
+    }
+
+    /**
+     * 从 parser 中提取，parser 不会关闭
+     *
+     * @param parser 还没有开始读取的 JsonParser
+     * @return 存放结果的 ObjectNode
+     */
+    ObjectNode peek(JsonParser parser) throws IOException {
+        if (remaining > 0 && parser.nextToken() != null) {
+            read(parser, root);
+        }
+        return result;
+    }
+
+    /**
+     * 读取当前值，结束时 parser 停在当前值的最后一个 token，或者所有路径都已找到时提前返回
+     */
+    private void read(JsonParser parser, Node node) throws IOException {
+        if (node.path != null) {
+            if (node.found) {
+                parser.skipChildren();
+            } else {
+                found(node, reader.readTree(parser));
+            }
+            return;
+        }
+
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                Node child = node.children.get(parser.getCurrentName());
+                parser.nextToken();
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    read(parser, child);
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            for (int index = 0; remaining > 0; index++) {
+                token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    break;
+                }
+                Node child = index <= node.maxIndex ? node.children.get(Integer.toString(index)) : null;
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    read(parser, child);
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录命中的值，更深的路径直接从已经构建的值中查找
+     */
+    private void found(Node node, JsonNode value) {
+        if (node.path != null && !node.found) {
+            node.found = true;
+            result.set(node.path, value);
+            remaining--;
+        }
+        for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+            String segment = entry.getKey();
+            JsonNode child = value.isArray() && isIndex(segment)
+                    ? value.get(Integer.parseInt(segment)) : value.get(segment);
+            if (child != null) {
+                found(entry.getValue(), child);
+            }
+        }
+    }
+
+    private static boolean isIndex(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,123 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.LRUMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预先编译的取值路径，用于 JacksonObject 多层读取，不需要每一层都创建 JacksonObject
+ * <p>
+ * 支持两种写法：以 / 开头的 JSON Pointer，比如 "/a/b/0/c"，以及 . 分隔的写法，比如 "a.b.0.c"，数字同时可以作为数组下标。
+ * 编译结果会缓存，可以直接在循环中调用 {@link #compile(String)}，热点路径建议保存为常量
+ *
+ * @author zxd
+ */
+public final class JsonPath {
+    /**
+     * 缓存最大数量，超出后整体清空
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final LRUMap<String, JsonPath> CACHE = new LRUMap<>(16, MAX_ENTRIES);
+
+    private final String expression;
+
+    /**
+     * 每一层的字段名
+     */
+    private final String[] names;
+
+    /**
+     * 每一层的数组下标，不是数字时为 -1
+     */
+    private final int[] indexes;
+
+    private JsonPath(String expression, List<String> names, List<Integer> indexes) {
+        this.expression = expression;
+        this.names = names.toArray(new String[0]);
+        this.indexes = new int[indexes.size()];
+        for (int i = 0; i < this.indexes.length; i++) {
+            this.indexes[i] = indexes.get(i);
+        }
+    }
+
+    /**
+     * 编译路径，空字符串表示根节点
+     *
+     * @param expression JSON Pointer 或者 . 分隔的路径
+     * @return JsonPath
+     */
+    public static JsonPath compile(String expression) {
+        JsonPath path = CACHE.get(expression);
+        if (path == null) {
+            path = parse(expression);
+            CACHE.put(expression, path);
+        }
+        return path;
+    }
+
+    private static JsonPath parse(String expression) {
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+
+        if (expression.startsWith("/")) {
+            for (JsonPointer pointer = JsonPointer.compile(expression); !pointer.matches(); pointer = pointer.tail()) {
+                names.add(pointer.getMatchingProperty());
+                indexes.add(pointer.getMatchingIndex());
+            }
+        } else if (!expression.isEmpty()) {
+            for (String segment : expression.split("\\.", -1)) {
+                names.add(segment);
+                indexes.add(index(segment));
+            }
+        }
+
+        return new JsonPath(expression, names, indexes);
+    }
+
+    /**
+     * 与 JSON Pointer 的规则一致，不能有前导 0，超出 int 范围不作为下标
+     */
+    private static int index(String segment) {
+        int length = segment.length();
+        if (length == 0 || length > 10 || (length > 1 && segment.charAt(0) == '0')) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    /**
+     * 从 JsonNode 开始按路径查找
+     *
+     * @param node 开始的节点
+     * @return 找到的节点，任意一层不存在时返回 null
+     */
+    public JsonNode find(JsonNode node) {
+        for (int i = 0; i < names.length && node != null; i++) {
+            if (node.isObject()) {
+                node = node.get(names[i]);
+            } else if (node.isArray() && indexes[i] >= 0) {
+                node = node.get(indexes[i]);
+            } else {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
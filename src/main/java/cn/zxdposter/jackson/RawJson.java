@@ -0,0 +1,167 @@
+package cn.zxdposter.jackson;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 原始的 utf-8 json 字节，用于延迟解析的 JacksonObject 原样输出
+ * <p>
+ * utf-8 的 JsonGenerator 直接复制字节，其它 JsonGenerator 使用解码后的字符串，解码结果会缓存
+ *
+ * @author zxd
+ */
+final class RawJson implements SerializableString {
+
+    private final byte[] bytes;
+
+    private SerializedString value;
+
+    /**
+     * 是否包含换行，0 表示还没有检查，1 包含，-1 不包含
+     */
+    private int lineBreak;
+
+    RawJson(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 是否包含 \n 或 \r，原样输出会把一条记录拆成多行，检查结果会缓存
+     */
+    boolean hasLineBreak() {
+        if (lineBreak == 0) {
+            lineBreak = -1;
+            for (byte b : bytes) {
+                if (b == '\n' || b == '\r') {
+                    lineBreak = 1;
+                    break;
+                }
+            }
+        }
+        return lineBreak > 0;
+    }
+
+    /**
+     * 是否是空对象 {}，只检查开头和结尾，不需要解析
+     */
+    boolean isEmptyObject() {
+        int start = 0;
+        int end = bytes.length - 1;
+        while (start <= end && isWhitespace(bytes[start])) {
+            start++;
+        }
+        while (end >= start && isWhitespace(bytes[end])) {
+            end--;
+        }
+        if (start >= end || bytes[start] != '{' || bytes[end] != '}') {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            if (!isWhitespace(bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private SerializedString serialized() {
+        if (value == null) {
+            value = new SerializedString(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return value;
+    }
+
+    @Override
+    public String getValue() {
+        return serialized().getValue();
+    }
+
+    @Override
+    public int charLength() {
+        return serialized().charLength();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return serialized().asQuotedChars();
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        return bytes;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return serialized().asQuotedUTF8();
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        return serialized().appendQuotedUTF8(buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        return serialized().appendQuoted(buffer, offset);
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        int length = bytes.length;
+        if (offset + length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(bytes, 0, buffer, offset, length);
+        return length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        return serialized().appendUnquoted(buffer, offset);
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        return serialized().writeQuotedUTF8(out);
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(bytes);
+        return bytes.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+        return serialized().putQuotedUTF8(buffer);
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+        int length = bytes.length;
+        if (length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(bytes);
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}